@@ -0,0 +1,254 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Load shedding filter in front of the Blueprint API.
+ * Requests are split into cheap ones (single blueprints, ranged points,
+ * metrics and searches) and expensive ones (the full catalog, all the
+ * blueprints of an author, point streams, bulk appends, thumbnails, and
+ * nearest-vertex and segment queries that may build a spatial index), each
+ * class guarded by its own {@link GradientConcurrencyLimit}. Optionally, a single
+ * author cannot hold more than a share of a class limit. Requests over the
+ * limit are answered immediately with 503 Service Unavailable and a
+ * Retry-After header instead of queueing in the servlet container.
+ *
+ * Asynchronous requests, such as point streams, keep their slot until the
+ * response is completed.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-28
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private static final String API_PREFIX = "/blueprints";
+
+  private final GradientConcurrencyLimit cheapLimit;
+  private final GradientConcurrencyLimit expensiveLimit;
+  private final double authorShare;
+  private final int retryAfterSeconds;
+  private final ConcurrentHashMap<String, Integer> authorInFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the filter.
+   *
+   * @param cheapLimit        the limit for cheap requests
+   * @param expensiveLimit    the limit for expensive requests
+   * @param authorShare       the fraction of a limit one author may hold, or 0
+   *                          to disable per-author fairness
+   * @param retryAfterSeconds the delay suggested to shed clients
+   */
+  public ConcurrencyLimitFilter(GradientConcurrencyLimit cheapLimit, GradientConcurrencyLimit expensiveLimit,
+      double authorShare, int retryAfterSeconds) {
+    this.cheapLimit = cheapLimit;
+    this.expensiveLimit = expensiveLimit;
+    this.authorShare = authorShare;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Registers the limits, in-flight requests and shed requests of both
+   * request classes in the given registry.
+   *
+   * @param registry the meter registry provided by Spring Boot Actuator
+   */
+  public void bindTo(MeterRegistry registry) {
+    for (GradientConcurrencyLimit limit : new GradientConcurrencyLimit[] { cheapLimit, expensiveLimit }) {
+      Gauge.builder("blueprints.limiter.limit", limit, GradientConcurrencyLimit::getLimit)
+          .tag("class", limit.getName()).register(registry);
+      Gauge.builder("blueprints.limiter.inflight", limit, GradientConcurrencyLimit::getInFlight)
+          .tag("class", limit.getName()).register(registry);
+      FunctionCounter.builder("blueprints.limiter.rejected", limit, GradientConcurrencyLimit::getRejected)
+          .tag("class", limit.getName()).register(registry);
+    }
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String[] segments = pathSegments(request);
+    GradientConcurrencyLimit limit = isExpensive(request.getMethod(), segments) ? expensiveLimit : cheapLimit;
+    String author = authorOf(segments);
+
+    if (!acquireAuthor(author, limit)) {
+      shed(response);
+      return;
+    }
+    if (!limit.tryAcquire()) {
+      releaseAuthor(author);
+      shed(response);
+      return;
+    }
+
+    Release release = new Release(limit, author, response);
+    boolean async = false;
+    try {
+      chain.doFilter(request, response);
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(release);
+        async = true;
+      }
+    } catch (IOException | ServletException | RuntimeException ex) {
+      release.run(true);
+      throw ex;
+    }
+    if (!async) {
+      release.run(response.getStatus() >= 500);
+    }
+  }
+
+  /**
+   * Splits the request path below the API prefix into its segments.
+   */
+  private static String[] pathSegments(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    if (path.startsWith(API_PREFIX)) {
+      path = path.substring(API_PREFIX.length());
+    }
+    while (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    return path.isEmpty() ? new String[0] : path.split("/");
+  }
+
+  /**
+   * Tells whether a request reads or writes many blueprints or points:
+   * the full catalog, the blueprints of an author, point streams, point
+   * appends, thumbnails, which load every point to render them, and
+   * nearest-vertex and segment queries, which build the spatial index of the
+   * blueprint when it is missing or stale.
+   */
+  private static boolean isExpensive(String method, String[] segments) {
+    if (segments.length == 0) {
+      return "GET".equals(method);
+    }
+    if (segments.length == 1) {
+      return "GET".equals(method) && !isReserved(segments[0]);
+    }
+    if (segments.length == 3 && "points".equals(segments[2])) {
+      return "POST".equals(method);
+    }
+    if (segments.length == 3 && ("nearest".equals(segments[2]) || "segments".equals(segments[2])
+        || "thumbnail.png".equals(segments[2]))) {
+      return "GET".equals(method);
+    }
+    return segments.length == 4 && "points".equals(segments[2]) && "stream".equals(segments[3]);
+  }
+
+  /**
+   * Tells whether a first path segment names an API route, such as
+   * {@code search} or {@code metrics}, rather than an author.
+   */
+  private static boolean isReserved(String segment) {
+    return BlueprintsServices.RESERVED_AUTHORS.contains(segment);
+  }
+
+  /**
+   * Finds the author a request works on, if any. Author aggregates live at
+   * {@code /metrics/{author}}.
+   */
+  private static String authorOf(String[] segments) {
+    if (segments.length == 0) {
+      return null;
+    }
+    if (!isReserved(segments[0])) {
+      return segments[0];
+    }
+    return "metrics".equals(segments[0]) && segments.length > 1 ? segments[1] : null;
+  }
+
+  /**
+   * Reserves a per-author slot when fairness is enabled.
+   */
+  private boolean acquireAuthor(String author, GradientConcurrencyLimit limit) {
+    if (authorShare <= 0 || author == null) {
+      return true;
+    }
+    int share = Math.max(1, (int) Math.ceil(limit.getLimit() * authorShare));
+    AtomicBoolean acquired = new AtomicBoolean();
+    authorInFlight.compute(author, (key, count) -> {
+      int current = count == null ? 0 : count;
+      if (current >= share) {
+        return count;
+      }
+      acquired.set(true);
+      return current + 1;
+    });
+    return acquired.get();
+  }
+
+  private void releaseAuthor(String author) {
+    if (authorShare <= 0 || author == null) {
+      return;
+    }
+    authorInFlight.computeIfPresent(author, (key, count) -> count > 1 ? count - 1 : null);
+  }
+
+  private void shed(HttpServletResponse response) {
+    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+  }
+
+  /**
+   * Returns the slots of one request exactly once, either when the filter
+   * chain returns or, for asynchronous requests, when the response completes.
+   */
+  private final class Release implements AsyncListener {
+
+    private final GradientConcurrencyLimit limit;
+    private final String author;
+    private final HttpServletResponse response;
+    private final long start = System.nanoTime();
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private Release(GradientConcurrencyLimit limit, String author, HttpServletResponse response) {
+      this.limit = limit;
+      this.author = author;
+      this.response = response;
+    }
+
+    private void run(boolean failed) {
+      if (done.compareAndSet(false, true)) {
+        releaseAuthor(author);
+        limit.release(System.nanoTime() - start, failed);
+      }
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      run(response.getStatus() >= 500);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      run(true);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      run(true);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // Re-register for the new asynchronous cycle
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package edu.eci.arsw.blueprints.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limit driven by measured latency, following the
+ * gradient algorithm.
+ * A fast moving average of request latency is compared with a baseline that
+ * tracks the latency of the unloaded service: it follows lower latencies
+ * quickly and higher ones very slowly. While both agree the limit grows by a
+ * small queue allowance, and when queueing makes the fast average rise the
+ * limit shrinks proportionally. Failed requests apply a multiplicative
+ * decrease, as in AIMD. The limit moves slowly compared with the latency
+ * average so that it settles instead of oscillating.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-28
+ */
+public class GradientConcurrencyLimit {
+
+  /** Latency increase over the baseline tolerated before shrinking. */
+  private static final double TOLERANCE = 1.5;
+
+  /** Weight of each sample in the fast latency average. */
+  private static final double SHORT_WEIGHT = 0.1;
+
+  /** Weight of a sample below the baseline latency. */
+  private static final double BASELINE_DOWN_WEIGHT = 0.5;
+
+  /** Weight of a sample above the baseline latency, so it drifts up slowly. */
+  private static final double BASELINE_UP_WEIGHT = 0.0002;
+
+  /** Weight of each new estimate in the smoothed limit. */
+  private static final double SMOOTHING = 0.02;
+
+  /** Multiplicative decrease applied when a request fails. */
+  private static final double BACKOFF = 0.9;
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  private volatile double limit;
+  private double shortRtt;
+  private double baselineRtt;
+
+  /**
+   * Creates a limit.
+   *
+   * @param name         the name of the request class it protects
+   * @param initialLimit the starting number of concurrent requests
+   * @param maxLimit     the upper bound of the limit
+   */
+  public GradientConcurrencyLimit(String name, int initialLimit, int maxLimit) {
+    this.name = name;
+    this.minLimit = 1;
+    this.maxLimit = Math.max(maxLimit, 1);
+    this.limit = Math.min(Math.max(initialLimit, minLimit), this.maxLimit);
+  }
+
+  /**
+   * Reserves a slot for a request if the limit allows it.
+   *
+   * @return true if the request may proceed, false if it must be shed
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected.incrementAndGet();
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases a slot reserved by {@link #tryAcquire()} and feeds the request
+   * latency into the limit.
+   *
+   * @param rttNanos the latency of the request, in nanoseconds
+   * @param failed   whether the request failed with a server error
+   */
+  public void release(long rttNanos, boolean failed) {
+    int current = inFlight.getAndDecrement();
+    sample(rttNanos, current, failed);
+  }
+
+  private synchronized void sample(long rttNanos, int current, boolean failed) {
+    double rtt = Math.max(rttNanos, 1);
+    if (baselineRtt == 0) {
+      shortRtt = rtt;
+      baselineRtt = rtt;
+    }
+    shortRtt += (rtt - shortRtt) * SHORT_WEIGHT;
+    baselineRtt += (rtt - baselineRtt) * (rtt < baselineRtt ? BASELINE_DOWN_WEIGHT : BASELINE_UP_WEIGHT);
+
+    double estimate;
+    if (failed) {
+      estimate = limit * BACKOFF;
+    } else {
+      double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineRtt / shortRtt));
+      if (gradient == 1.0 && current < limit / 2) {
+        // Too little load to tell whether a higher limit would be sustained
+        return;
+      }
+      estimate = limit * gradient + Math.sqrt(limit);
+    }
+    double smoothed = limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+    limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+  }
+
+  /**
+   * Gets the name of the request class this limit protects.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the current limit.
+   *
+   * @return the number of concurrent requests allowed
+   */
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Gets the number of requests currently holding a slot.
+   *
+   * @return the in-flight requests
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Gets the number of requests shed so far.
+   *
+   * @return the rejected requests
+   */
+  public long getRejected() {
+    return rejected.get();
+  }
+}
@@ -0,0 +1,66 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintsPersistence;
+import edu.eci.arsw.blueprints.persistence.impl.BTreeBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.impl.InMemoryBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.impl.TieredBlueprintPersistence;
+
+import java.nio.file.Paths;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Persistence layer configuration for the Blueprint API.
+ * Exactly one {@link BlueprintsPersistence} is created, chosen by the active
+ * Spring profile: {@code tiered} for the memory and disk tiers, {@code btree}
+ * for the on-disk B+tree, and the in-memory store with sample data otherwise.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-04
+ */
+@Configuration
+public class PersistenceConfiguration {
+
+  /**
+   * In-memory store, used when no persistence profile is active.
+   *
+   * @return the in-memory persistence
+   */
+  @Bean
+  @Profile("!tiered & !btree")
+  public BlueprintsPersistence inMemoryBlueprintPersistence() {
+    return new InMemoryBlueprintPersistence();
+  }
+
+  /**
+   * Two-tier store keeping the working set in memory and cold blueprints in
+   * a local directory.
+   *
+   * @param directory the directory used by the cold tier
+   * @param maxBytes  the memory budget of the hot tier, in estimated bytes
+   * @return the tiered persistence
+   */
+  @Bean
+  @Profile("tiered")
+  public BlueprintsPersistence tieredBlueprintPersistence(
+      @Value("${blueprints.tiered.directory:${java.io.tmpdir}/blueprints-cold}") String directory,
+      @Value("${blueprints.tiered.max-bytes:268435456}") long maxBytes) {
+    return new TieredBlueprintPersistence(directory, maxBytes);
+  }
+
+  /**
+   * On-disk B+tree store for catalogs bigger than the heap.
+   *
+   * @param file the B+tree file
+   * @return the B+tree persistence
+   */
+  @Bean
+  @Profile("btree")
+  public BlueprintsPersistence btreeBlueprintPersistence(
+      @Value("${blueprints.btree.file:${java.io.tmpdir}/blueprints.btree}") String file) {
+    return new BTreeBlueprintPersistence(Paths.get(file));
+  }
+}
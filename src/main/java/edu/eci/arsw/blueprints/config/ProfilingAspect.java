@@ -0,0 +1,84 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.config.RequestProfile.Phase;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the service, filter and persistence calls made while handling a
+ * request and adds them to its {@link RequestProfile}. Calls made outside a
+ * profiled request, such as startup or background work, run untouched.
+ *
+ * Only created when {@code blueprints.profiling.enabled} is true; otherwise
+ * no bean is proxied and the profiler costs nothing.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-03
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "blueprints.profiling.enabled", havingValue = "true")
+public class ProfilingAspect {
+
+  /**
+   * Times the calls to the persistence layer and counts the points they
+   * return.
+   *
+   * @param joinPoint the intercepted call
+   * @return the result of the call
+   * @throws Throwable whatever the call throws
+   */
+  @Around("execution(* edu.eci.arsw.blueprints.persistence.BlueprintsPersistence.*(..))")
+  public Object profilePersistence(ProceedingJoinPoint joinPoint) throws Throwable {
+    Object result = profile(joinPoint, Phase.PERSISTENCE);
+    RequestProfile profile = RequestProfile.current();
+    if (profile != null) {
+      profile.countPoints(result);
+    }
+    return result;
+  }
+
+  /**
+   * Times the blueprint filter.
+   *
+   * @param joinPoint the intercepted call
+   * @return the filtered blueprint
+   * @throws Throwable whatever the filter throws
+   */
+  @Around("execution(* edu.eci.arsw.blueprints.persistence.BlueprintFilter.filter(..))")
+  public Object profileFilter(ProceedingJoinPoint joinPoint) throws Throwable {
+    return profile(joinPoint, Phase.FILTER);
+  }
+
+  /**
+   * Times the calls to the blueprint service, which include their own
+   * persistence and filter calls.
+   *
+   * @param joinPoint the intercepted call
+   * @return the result of the call
+   * @throws Throwable whatever the call throws
+   */
+  @Around("execution(public * edu.eci.arsw.blueprints.services.BlueprintsServices.*(..))")
+  public Object profileService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return profile(joinPoint, Phase.SERVICE);
+  }
+
+  private static Object profile(ProceedingJoinPoint joinPoint, Phase phase) throws Throwable {
+    RequestProfile profile = RequestProfile.current();
+    if (profile == null) {
+      return joinPoint.proceed();
+    }
+    boolean outermost = profile.enter(phase);
+    long start = outermost ? System.nanoTime() : 0;
+    try {
+      return joinPoint.proceed();
+    } finally {
+      profile.exit(phase, outermost ? System.nanoTime() - start : 0);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.controllers.SampledLogger;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Servlet filter that opens a {@link RequestProfile} for every request and
+ * logs the phase breakdown of the requests slower than a threshold. Slow
+ * request records go through a {@link SampledLogger}, so an overloaded
+ * server does not also flood its logs. Requests completed asynchronously
+ * are not logged, since their work continues on other threads.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-03
+ */
+public class ProfilingFilter extends OncePerRequestFilter {
+
+  private static final Logger LOGGER = Logger.getLogger(ProfilingFilter.class.getName());
+
+  private final long slowNanos;
+  private final SampledLogger slowLog;
+
+  /**
+   * Creates a profiling filter.
+   *
+   * @param slowMillis the duration from which a request is logged as slow
+   * @param perSecond  the maximum number of slow requests logged per second
+   */
+  public ProfilingFilter(long slowMillis, int perSecond) {
+    this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+    this.slowLog = new SampledLogger(LOGGER, perSecond);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    RequestProfile profile = RequestProfile.start();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      RequestProfile.end();
+      long total = profile.elapsed();
+      if (total >= slowNanos && !request.isAsyncStarted()) {
+        slowLog.log(Level.WARNING, profile.describe(request.getMethod(), request.getRequestURI(), total), null);
+      }
+    }
+  }
+}
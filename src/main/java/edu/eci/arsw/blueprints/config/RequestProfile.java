@@ -0,0 +1,190 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Timing breakdown of the request handled by the current thread.
+ * Every phase accumulates the time spent in its outermost calls, so a
+ * service method calling itself through another public method is counted
+ * once, while the persistence and filter calls it makes are counted in
+ * their own phases as well. The profile also counts the points read from
+ * storage.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-03
+ */
+public final class RequestProfile {
+
+  /**
+   * Layers timed by the profiler.
+   */
+  public enum Phase {
+    PERSISTENCE("persistence"),
+    FILTER("filter"),
+    SERVICE("service");
+
+    private final String metric;
+
+    Phase(String metric) {
+      this.metric = metric;
+    }
+  }
+
+  private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+  private static final Phase[] PHASES = Phase.values();
+
+  private final long start = System.nanoTime();
+  private final long[] nanos = new long[PHASES.length];
+  private final int[] calls = new int[PHASES.length];
+  private final int[] depth = new int[PHASES.length];
+  private long points;
+  private long handlerEnd;
+
+  private RequestProfile() {
+  }
+
+  /**
+   * Starts profiling the request of the current thread.
+   *
+   * @return the new profile
+   */
+  public static RequestProfile start() {
+    RequestProfile profile = new RequestProfile();
+    CURRENT.set(profile);
+    return profile;
+  }
+
+  /**
+   * Gets the profile of the current thread.
+   *
+   * @return the profile, or null if the thread is not handling a profiled
+   *         request
+   */
+  public static RequestProfile current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Stops profiling on the current thread.
+   */
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Enters a call of a phase.
+   *
+   * @param phase the phase of the call
+   * @return true if the call is the outermost one of its phase and must be
+   *         timed
+   */
+  public boolean enter(Phase phase) {
+    return depth[phase.ordinal()]++ == 0;
+  }
+
+  /**
+   * Leaves a call of a phase.
+   *
+   * @param phase   the phase of the call
+   * @param elapsed the time spent in the call if it was the outermost one,
+   *                in nanoseconds
+   */
+  public void exit(Phase phase, long elapsed) {
+    if (--depth[phase.ordinal()] == 0) {
+      nanos[phase.ordinal()] += elapsed;
+      calls[phase.ordinal()]++;
+    }
+  }
+
+  /**
+   * Counts the points of a value read from storage: a blueprint, a list of
+   * points or a collection of blueprints.
+   *
+   * @param result the value returned by the persistence layer
+   */
+  public void countPoints(Object result) {
+    if (result instanceof Blueprint) {
+      points += pointCount((Blueprint) result);
+    } else if (result instanceof Collection) {
+      for (Object element : (Collection<?>) result) {
+        if (element instanceof Point) {
+          points += ((Collection<?>) result).size();
+          return;
+        }
+        if (!(element instanceof Blueprint)) {
+          return;
+        }
+        points += pointCount((Blueprint) element);
+      }
+    }
+  }
+
+  /**
+   * Marks the end of the handler, right before the response body is
+   * serialized.
+   */
+  public void markHandlerEnd() {
+    handlerEnd = System.nanoTime();
+  }
+
+  /**
+   * Formats the phases timed so far as a Server-Timing header value.
+   * {@code app} is the time from the start of the request to now.
+   *
+   * @return the header value
+   */
+  public String toServerTiming() {
+    StringBuilder builder = new StringBuilder();
+    for (Phase phase : PHASES) {
+      if (calls[phase.ordinal()] > 0) {
+        builder.append(phase.metric).append(";dur=").append(millis(nanos[phase.ordinal()])).append(", ");
+      }
+    }
+    return builder.append("app;dur=").append(millis(System.nanoTime() - start)).toString();
+  }
+
+  /**
+   * Describes the whole breakdown of a finished request for the slow
+   * request log. {@code write} is the time spent serializing and writing the
+   * response body.
+   *
+   * @param method the request method
+   * @param uri    the request URI
+   * @param total  the total duration of the request, in nanoseconds
+   * @return the description
+   */
+  public String describe(String method, String uri, long total) {
+    StringBuilder builder = new StringBuilder("Slow request ").append(method).append(' ').append(uri)
+        .append(": total=").append(millis(total)).append("ms");
+    for (Phase phase : PHASES) {
+      builder.append(' ').append(phase.metric).append('=').append(millis(nanos[phase.ordinal()]))
+          .append("ms/").append(calls[phase.ordinal()]);
+    }
+    if (handlerEnd != 0) {
+      builder.append(" write=").append(millis(start + total - handlerEnd)).append("ms");
+    }
+    return builder.append(" points=").append(points).toString();
+  }
+
+  /**
+   * Gets the time elapsed since the request started.
+   *
+   * @return the elapsed time, in nanoseconds
+   */
+  public long elapsed() {
+    return System.nanoTime() - start;
+  }
+
+  private static int pointCount(Blueprint blueprint) {
+    return blueprint.getPoints() == null ? 0 : blueprint.getPoints().size();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+  }
+}
@@ -0,0 +1,47 @@
+package edu.eci.arsw.blueprints.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code Server-Timing} header to the API responses, with the time
+ * spent in the service, filter and persistence layers and in the whole
+ * handler, so slow requests can be diagnosed from the browser developer
+ * tools. The header is written right before the body is serialized, which
+ * also marks where serialization starts in the slow request log.
+ *
+ * Only created when {@code blueprints.profiling.enabled} is true.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-03
+ */
+@ControllerAdvice(basePackages = "edu.eci.arsw.blueprints.controllers")
+@ConditionalOnProperty(name = "blueprints.profiling.enabled", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+  private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+      Class<? extends HttpMessageConverter<?>> converterType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+    RequestProfile profile = RequestProfile.current();
+    if (profile != null) {
+      profile.markHandlerEnd();
+      response.getHeaders().set(SERVER_TIMING_HEADER, profile.toServerTiming());
+    }
+    return body;
+  }
+}
@@ -0,0 +1,102 @@
+package edu.eci.arsw.blueprints.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Web layer configuration for the Blueprint API.
+ * Registers the servlet filters applied to the REST endpoints.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-26
+ */
+@Configuration
+public class WebConfiguration {
+
+  @Autowired(required = false)
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Sheds load before it reaches the controller: cheap and expensive requests
+   * get separate adaptive concurrency limits, and requests over the limit are
+   * rejected with 503 Service Unavailable and Retry-After. Registered ahead
+   * of the other filters so shed requests cost as little as possible.
+   *
+   * @param cheapInitial      the initial limit for cheap requests
+   * @param cheapMax          the maximum limit for cheap requests
+   * @param expensiveInitial  the initial limit for expensive requests
+   * @param expensiveMax      the maximum limit for expensive requests
+   * @param authorShare       the fraction of a limit one author may hold, or 0
+   * @param retryAfterSeconds the delay suggested to shed clients
+   * @return the registration of the concurrency limit filter
+   */
+  @Bean
+  public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+      @Value("${blueprints.limiter.cheap.initial-limit:50}") int cheapInitial,
+      @Value("${blueprints.limiter.cheap.max-limit:400}") int cheapMax,
+      @Value("${blueprints.limiter.expensive.initial-limit:10}") int expensiveInitial,
+      @Value("${blueprints.limiter.expensive.max-limit:50}") int expensiveMax,
+      @Value("${blueprints.limiter.author-share:0}") double authorShare,
+      @Value("${blueprints.limiter.retry-after-seconds:1}") int retryAfterSeconds) {
+    ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+        new GradientConcurrencyLimit("cheap", cheapInitial, cheapMax),
+        new GradientConcurrencyLimit("expensive", expensiveInitial, expensiveMax),
+        authorShare, retryAfterSeconds);
+    if (meterRegistry != null) {
+      filter.bindTo(meterRegistry);
+    }
+    FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.addUrlPatterns("/blueprints/*");
+    registration.setName("concurrencyLimitFilter");
+    registration.setOrder(0);
+    return registration;
+  }
+
+  /**
+   * Profiles every API request: opens the per-request timing breakdown
+   * filled by {@link ProfilingAspect} and logs the slow requests. Registered
+   * inside the concurrency limit so shed requests are not profiled, and
+   * outside the ETag filter so the logged write time includes hashing the
+   * body.
+   *
+   * @param slowMillis the duration from which a request is logged as slow
+   * @param perSecond  the maximum number of slow requests logged per second
+   * @return the registration of the profiling filter
+   */
+  @Bean
+  @ConditionalOnProperty(name = "blueprints.profiling.enabled", havingValue = "true")
+  public FilterRegistrationBean<ProfilingFilter> profilingFilter(
+      @Value("${blueprints.profiling.slow-threshold-ms:500}") long slowMillis,
+      @Value("${blueprints.profiling.slow-log-per-second:5}") int perSecond) {
+    FilterRegistrationBean<ProfilingFilter> registration = new FilterRegistrationBean<>(
+        new ProfilingFilter(slowMillis, perSecond));
+    registration.addUrlPatterns("/blueprints/*");
+    registration.setName("profilingFilter");
+    registration.setOrder(1);
+    return registration;
+  }
+
+  /**
+   * Adds an ETag to every successful GET response of the API and answers
+   * requests carrying a matching If-None-Match with 304 Not Modified, so
+   * clients can revalidate cached blueprints without downloading them again.
+   *
+   * @return the registration of the ETag filter
+   */
+  @Bean
+  public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+    FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(
+        new ShallowEtagHeaderFilter());
+    registration.addUrlPatterns("/blueprints/*");
+    registration.setName("etagFilter");
+    return registration;
+  }
+}
@@ -1,22 +1,44 @@
 package edu.eci.arsw.blueprints.controllers;
 
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.BlueprintSegment;
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
+import edu.eci.arsw.blueprints.model.NearestPoint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.ThumbnailService;
 import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPointsReader;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import javax.servlet.http.HttpServletRequest;
 
 /**
  * REST Controller for Blueprint API operations.
@@ -24,6 +46,8 @@ import java.util.logging.Logger;
  * blueprints,
  * including operations to retrieve all blueprints, blueprints by author, and
  * specific blueprints.
+ * Exceptions are turned into error responses by
+ * {@link BlueprintAPIExceptionHandler}.
  *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
@@ -33,9 +57,18 @@ import java.util.logging.Logger;
 @RequestMapping(value = "/blueprints")
 public class BlueprintAPIController {
 
+  private static final int MAX_SEARCH_LIMIT = 100;
+  private static final int MAX_POINTS_LIMIT = 10_000;
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  private static final int MIN_THUMBNAIL_SIZE = 16;
+  private static final int MAX_THUMBNAIL_SIZE = 512;
+
   @Autowired
   private BlueprintsServices blueprintsServices;
 
+  @Autowired
+  private ThumbnailService thumbnailService;
+
   /**
    * Handles GET requests to retrieve all blueprints.
    * Returns all blueprints in the system with applied filtering.
@@ -44,13 +77,27 @@ public class BlueprintAPIController {
    */
   @RequestMapping(method = RequestMethod.GET)
   public ResponseEntity<?> getAllBlueprints() {
-    try {
-      Set<Blueprint> blueprints = blueprintsServices.getAllBlueprints();
-      return new ResponseEntity<>(blueprints, HttpStatus.ACCEPTED);
-    } catch (Exception ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Error retrieving all blueprints", HttpStatus.INTERNAL_SERVER_ERROR);
+    Set<Blueprint> blueprints = blueprintsServices.getAllBlueprints();
+    return new ResponseEntity<>(blueprints, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to search blueprints by partial author or name.
+   * Returns ranked author/name summaries without the blueprint points.
+   *
+   * @param query the text to search for, ignoring case
+   * @param limit the maximum number of results (1 to 100)
+   * @return ResponseEntity containing the matching summaries or error message
+   */
+  @RequestMapping(value = "/search", method = RequestMethod.GET)
+  public ResponseEntity<?> searchBlueprints(@RequestParam("q") String query,
+      @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    if (query.trim().isEmpty() || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+      return new ResponseEntity<>("Query must not be empty and limit must be between 1 and " + MAX_SEARCH_LIMIT,
+          HttpStatus.BAD_REQUEST);
     }
+    List<BlueprintSummary> results = blueprintsServices.searchBlueprints(query.trim(), limit);
+    return new ResponseEntity<>(results, HttpStatus.ACCEPTED);
   }
 
   /**
@@ -60,45 +107,74 @@ public class BlueprintAPIController {
    *
    * @param author the author whose blueprints are to be retrieved
    * @return ResponseEntity containing author's blueprints or error message
+   * @throws BlueprintNotFoundException if the author has no blueprints
    */
   @RequestMapping(value = "/{author}", method = RequestMethod.GET)
-  public ResponseEntity<?> getBlueprintsByAuthor(@PathVariable String author) {
-    try {
-      Set<Blueprint> blueprints = blueprintsServices.getBlueprintsByAuthor(author);
-      return new ResponseEntity<>(blueprints, HttpStatus.ACCEPTED);
-    } catch (BlueprintNotFoundException ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Author not found: " + author, HttpStatus.NOT_FOUND);
-    } catch (Exception ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Error retrieving blueprints for author: " + author,
-          HttpStatus.INTERNAL_SERVER_ERROR);
-    }
+  public ResponseEntity<?> getBlueprintsByAuthor(@PathVariable String author) throws BlueprintNotFoundException {
+    Set<Blueprint> blueprints = blueprintsServices.getBlueprintsByAuthor(author);
+    return new ResponseEntity<>(blueprints, HttpStatus.ACCEPTED);
   }
 
   /**
    * Handles GET requests to retrieve a specific blueprint by author and blueprint
    * name.
    * Returns the specific blueprint created by the author with the given name,
-   * with applied filtering.
+   * with applied filtering. A past version is returned when requested; it
+   * holds the points as stored at that version, without filtering, like
+   * {@code /points} and {@code /delta}, so deltas apply to it index by index.
    *
-   * @param author the author of the blueprint
-   * @param bpname the name of the blueprint
+   * @param author  the author of the blueprint
+   * @param bpname  the name of the blueprint
+   * @param version the version to retrieve, or null for the current one
    * @return ResponseEntity containing the specific blueprint or error message
+   * @throws BlueprintNotFoundException if the blueprint or the version does not
+   *                                    exist
    */
   @RequestMapping(value = "/{author}/{bpname}", method = RequestMethod.GET)
-  public ResponseEntity<?> getBlueprint(@PathVariable String author, @PathVariable String bpname) {
-    try {
-      Blueprint blueprint = blueprintsServices.getBlueprint(author, bpname);
-      return new ResponseEntity<>(blueprint, HttpStatus.ACCEPTED);
-    } catch (BlueprintNotFoundException ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Blueprint not found: " + author + "/" + bpname, HttpStatus.NOT_FOUND);
-    } catch (Exception ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Error retrieving blueprint: " + author + "/" + bpname,
-          HttpStatus.INTERNAL_SERVER_ERROR);
-    }
+  public ResponseEntity<?> getBlueprint(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam(value = "version", required = false) Long version) throws BlueprintNotFoundException {
+    Blueprint blueprint = version == null
+        ? blueprintsServices.getBlueprint(author, bpname)
+        : blueprintsServices.getBlueprint(author, bpname, version);
+    return new ResponseEntity<>(blueprint, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to retrieve the revision history of a blueprint.
+   * Returns the kept versions, oldest first, without their points.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @return ResponseEntity containing the blueprint versions or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/history", method = RequestMethod.GET)
+  public ResponseEntity<?> getBlueprintHistory(@PathVariable String author, @PathVariable String bpname)
+      throws BlueprintNotFoundException {
+    List<BlueprintRevision> revisions = blueprintsServices.getBlueprintHistory(author, bpname);
+    return new ResponseEntity<>(revisions, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to retrieve the points changed between two versions
+   * of a blueprint, so clients holding one version can move to another
+   * without downloading the whole blueprint. Deltas are computed over the
+   * stored, unfiltered points, the same view served by {@code ?version=} and
+   * {@code /points}.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param from   the version held by the client
+   * @param to     the version to move to
+   * @return ResponseEntity containing the delta or error message
+   * @throws BlueprintNotFoundException if the blueprint or either version does
+   *                                    not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/delta", method = RequestMethod.GET)
+  public ResponseEntity<?> getBlueprintDelta(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam("from") long from, @RequestParam("to") long to) throws BlueprintNotFoundException {
+    BlueprintDelta delta = blueprintsServices.getBlueprintDelta(author, bpname, from, to);
+    return new ResponseEntity<>(delta, HttpStatus.ACCEPTED);
   }
 
   /**
@@ -108,21 +184,13 @@ public class BlueprintAPIController {
    *
    * @param blueprint the blueprint data from the request body
    * @return ResponseEntity with HTTP 201 CREATED if successful, or error status
+   * @throws BlueprintPersistenceException if the blueprint already exists or
+   *                                       its author name is reserved
    */
   @RequestMapping(method = RequestMethod.POST)
-  public ResponseEntity<?> createBlueprint(@RequestBody Blueprint blueprint) {
-    try {
-      blueprintsServices.addNewBlueprint(blueprint);
-      return new ResponseEntity<>(HttpStatus.CREATED);
-    } catch (BlueprintPersistenceException ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Blueprint already exists: " + blueprint.getAuthor() + "/" + blueprint.getName(),
-          HttpStatus.FORBIDDEN);
-    } catch (Exception ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Error creating blueprint: " + ex.getMessage(),
-          HttpStatus.INTERNAL_SERVER_ERROR);
-    }
+  public ResponseEntity<?> createBlueprint(@RequestBody Blueprint blueprint) throws BlueprintPersistenceException {
+    blueprintsServices.addNewBlueprint(blueprint);
+    return new ResponseEntity<>(HttpStatus.CREATED);
   }
 
   /**
@@ -134,28 +202,266 @@ public class BlueprintAPIController {
    * @param bpname    the name of the blueprint to update
    * @param blueprint the updated blueprint data from the request body
    * @return ResponseEntity with HTTP 202 ACCEPTED if successful, or error status
+   * @throws BlueprintNotFoundException    if the blueprint does not exist
+   * @throws BlueprintPersistenceException if the persistence layer rejects the write
    */
   @RequestMapping(value = "/{author}/{bpname}", method = RequestMethod.PUT)
   public ResponseEntity<?> updateBlueprint(@PathVariable String author, @PathVariable String bpname,
-      @RequestBody Blueprint blueprint) {
-    try {
-      // Ensure the blueprint author and name match the path variables
-      if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(bpname)) {
-        return new ResponseEntity<>("Blueprint author/name mismatch with URL path", HttpStatus.BAD_REQUEST);
+      @RequestBody Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
+    // Ensure the blueprint author and name match the path variables
+    if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(bpname)) {
+      return new ResponseEntity<>("Blueprint author/name mismatch with URL path", HttpStatus.BAD_REQUEST);
+    }
+
+    blueprintsServices.updateBlueprint(blueprint);
+    return new ResponseEntity<>(HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles POST requests to append points at the end of an existing blueprint.
+   * The blueprint metrics are updated incrementally from the new points.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param points the points to append from the request body
+   * @return ResponseEntity with HTTP 202 ACCEPTED if successful, or error status
+   * @throws BlueprintNotFoundException    if the blueprint does not exist
+   * @throws BlueprintPersistenceException if the persistence layer rejects the write
+   */
+  @RequestMapping(value = "/{author}/{bpname}/points", method = RequestMethod.POST)
+  public ResponseEntity<?> appendPoints(@PathVariable String author, @PathVariable String bpname,
+      @RequestBody List<Point> points) throws BlueprintNotFoundException, BlueprintPersistenceException {
+    blueprintsServices.appendPoints(author, bpname, points);
+    return new ResponseEntity<>(HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to retrieve the geometric metrics of a blueprint.
+   * Returns the path length, bounding box, enclosed area and segment count
+   * computed when the blueprint was stored.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @return ResponseEntity containing the blueprint metrics or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/metrics", method = RequestMethod.GET)
+  public ResponseEntity<?> getBlueprintMetrics(@PathVariable String author, @PathVariable String bpname)
+      throws BlueprintNotFoundException {
+    BlueprintMetrics metrics = blueprintsServices.getBlueprintMetrics(author, bpname);
+    return new ResponseEntity<>(metrics, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to retrieve the aggregated metrics of an author.
+   * Returns the blueprint, point and segment counts together with the summed
+   * path length and area of all the author's blueprints.
+   * The route starts with the reserved {@code metrics} segment, so it cannot
+   * shadow a blueprint named {@code metrics}.
+   *
+   * @param author the author whose metrics are to be retrieved
+   * @return ResponseEntity containing the author metrics or error message
+   * @throws BlueprintNotFoundException if the author has no blueprints
+   */
+  @RequestMapping(value = "/metrics/{author}", method = RequestMethod.GET)
+  public ResponseEntity<?> getAuthorMetrics(@PathVariable String author) throws BlueprintNotFoundException {
+    AuthorMetrics metrics = blueprintsServices.getAuthorMetrics(author);
+    return new ResponseEntity<>(metrics, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to retrieve a slice of the points of a blueprint.
+   * Points are returned as stored, without filtering, so clients can page
+   * through huge blueprints; only the requested slice is read from storage.
+   * The total number of points is sent in the X-Total-Count header.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param offset the index of the first point to return
+   * @param limit  the maximum number of points to return (1 to 10000)
+   * @return ResponseEntity containing the points slice or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/points", method = RequestMethod.GET)
+  public ResponseEntity<?> getBlueprintPoints(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam(value = "offset", defaultValue = "0") int offset,
+      @RequestParam(value = "limit", defaultValue = "1000") int limit) throws BlueprintNotFoundException {
+    if (offset < 0 || limit < 1 || limit > MAX_POINTS_LIMIT) {
+      return new ResponseEntity<>("Offset must be positive and limit between 1 and " + MAX_POINTS_LIMIT,
+          HttpStatus.BAD_REQUEST);
+    }
+    try (BlueprintPointsReader reader = blueprintsServices.openBlueprintPoints(author, bpname)) {
+      HttpHeaders headers = new HttpHeaders();
+      headers.set(TOTAL_COUNT_HEADER, String.valueOf(reader.size()));
+      return new ResponseEntity<>(reader.read(offset, limit), headers, HttpStatus.ACCEPTED);
+    }
+  }
+
+  /**
+   * Handles GET requests to stream all the points of a blueprint.
+   * The response is newline-delimited JSON: every line is an array with the
+   * next chunk of points, written and flushed as it is read from storage, so
+   * clients can start rendering before the whole blueprint arrives. Chunks
+   * are read one at a time from the version stored when streaming starts.
+   *
+   * @param author  the author of the blueprint
+   * @param bpname  the name of the blueprint
+   * @param chunk   the number of points per line (1 to 10000)
+   * @param request the current request
+   * @return ResponseEntity streaming the points or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/points/stream", method = RequestMethod.GET)
+  public ResponseEntity<?> streamBlueprintPoints(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam(value = "chunk", defaultValue = "1000") int chunk, HttpServletRequest request)
+      throws BlueprintNotFoundException {
+    if (chunk < 1 || chunk > MAX_POINTS_LIMIT) {
+      return new ResponseEntity<>("Chunk must be between 1 and " + MAX_POINTS_LIMIT, HttpStatus.BAD_REQUEST);
+    }
+    int total = blueprintsServices.getBlueprintMetrics(author, bpname).getPointCount();
+    // The ETag filter would buffer the whole body to hash it, defeating streaming
+    ShallowEtagHeaderFilter.disableContentCaching(request);
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE);
+    headers.set(TOTAL_COUNT_HEADER, String.valueOf(total));
+    StreamingResponseBody body = out -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      // Opened here, so the reader is closed even if the client goes away
+      try (BlueprintPointsReader reader = blueprintsServices.openBlueprintPoints(author, bpname)) {
+        for (int from = 0; from < reader.size(); from += chunk) {
+          List<Point> points = reader.read(from, chunk);
+          writer.write('[');
+          for (int i = 0; i < points.size(); i++) {
+            Point point = points.get(i);
+            writer.write(i == 0 ? "{\"x\":" : ",{\"x\":");
+            writer.write(Integer.toString(point.getX()));
+            writer.write(",\"y\":");
+            writer.write(Integer.toString(point.getY()));
+            writer.write('}');
+          }
+          writer.write("]\n");
+          writer.flush();
+        }
+      } catch (BlueprintNotFoundException ex) {
+        throw new IOException(ex.getMessage(), ex);
       }
+      writer.flush();
+    };
+    return new ResponseEntity<>(body, headers, HttpStatus.OK);
+  }
+
+  /**
+   * Handles GET requests to find the blueprints that look like a given one,
+   * whatever their position and size, such as duplicated designs across
+   * authors.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param k      the maximum number of results (1 to 100)
+   * @return ResponseEntity containing the most similar blueprints, closest
+   *         first, or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/similar", method = RequestMethod.GET)
+  public ResponseEntity<?> findSimilarBlueprints(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam(value = "k", defaultValue = "10") int k) throws BlueprintNotFoundException {
+    if (k < 1 || k > MAX_SEARCH_LIMIT) {
+      return new ResponseEntity<>("k must be between 1 and " + MAX_SEARCH_LIMIT, HttpStatus.BAD_REQUEST);
+    }
+    List<SimilarBlueprint> similar = blueprintsServices.findSimilarBlueprints(author, bpname, k);
+    return new ResponseEntity<>(similar, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to find the vertex of a blueprint closest to a
+   * location, answered from a spatial index instead of scanning the points.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param x      the x coordinate of the location
+   * @param y      the y coordinate of the location
+   * @return ResponseEntity containing the closest vertex, HTTP 204 NO CONTENT
+   *         if the blueprint has no points, or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/nearest", method = RequestMethod.GET)
+  public ResponseEntity<?> findNearestPoint(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam("x") int x, @RequestParam("y") int y) throws BlueprintNotFoundException {
+    NearestPoint nearest = blueprintsServices.findNearestPoint(author, bpname, x, y);
+    if (nearest == null) {
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+    return new ResponseEntity<>(nearest, HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Handles GET requests to find the segments of a blueprint crossing or lying
+   * inside a rectangle, for hit-testing under the cursor.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param bbox   the rectangle as minX,minY,maxX,maxY
+   * @param limit  the maximum number of segments to return (1 to 10000)
+   * @return ResponseEntity containing the matching segments or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/segments", method = RequestMethod.GET)
+  public ResponseEntity<?> findSegments(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam("bbox") String bbox, @RequestParam(value = "limit", defaultValue = "1000") int limit)
+      throws BlueprintNotFoundException {
+    int[] box = parseBoundingBox(bbox);
+    if (box == null || limit < 1 || limit > MAX_POINTS_LIMIT) {
+      return new ResponseEntity<>("Bounding box must be minX,minY,maxX,maxY and limit between 1 and "
+          + MAX_POINTS_LIMIT, HttpStatus.BAD_REQUEST);
+    }
+    List<BlueprintSegment> segments = blueprintsServices.findSegments(author, bpname, box[0], box[1], box[2], box[3],
+        limit);
+    return new ResponseEntity<>(segments, HttpStatus.ACCEPTED);
+  }
 
-      blueprintsServices.updateBlueprint(blueprint);
-      return new ResponseEntity<>(HttpStatus.ACCEPTED);
-    } catch (BlueprintNotFoundException ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Blueprint not found: " + author + "/" + bpname, HttpStatus.NOT_FOUND);
-    } catch (BlueprintPersistenceException ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Error updating blueprint: " + ex.getMessage(), HttpStatus.FORBIDDEN);
-    } catch (Exception ex) {
-      Logger.getLogger(BlueprintAPIController.class.getName()).log(Level.SEVERE, null, ex);
-      return new ResponseEntity<>("Error updating blueprint: " + ex.getMessage(),
-          HttpStatus.INTERNAL_SERVER_ERROR);
+  /**
+   * Handles GET requests to get a PNG thumbnail of a blueprint. Thumbnails
+   * are rendered off the request thread and cached until the blueprint
+   * changes.
+   *
+   * @param author the author of the blueprint
+   * @param bpname the name of the blueprint
+   * @param size   the width and height of the thumbnail in pixels (16 to 512)
+   * @return future ResponseEntity containing the PNG image or error message
+   * @throws BlueprintNotFoundException if the blueprint does not exist
+   */
+  @RequestMapping(value = "/{author}/{bpname}/thumbnail.png", method = RequestMethod.GET)
+  public CompletableFuture<ResponseEntity<?>> getThumbnail(@PathVariable String author, @PathVariable String bpname,
+      @RequestParam(value = "size", defaultValue = "128") int size) throws BlueprintNotFoundException {
+    if (size < MIN_THUMBNAIL_SIZE || size > MAX_THUMBNAIL_SIZE) {
+      return CompletableFuture.completedFuture(new ResponseEntity<>("Size must be between " + MIN_THUMBNAIL_SIZE
+          + " and " + MAX_THUMBNAIL_SIZE, HttpStatus.BAD_REQUEST));
+    }
+    return thumbnailService.getThumbnail(author, bpname, size).thenApply(png -> {
+      HttpHeaders headers = new HttpHeaders();
+      headers.setContentType(MediaType.IMAGE_PNG);
+      return new ResponseEntity<>(png, headers, HttpStatus.OK);
+    });
+  }
+
+  /**
+   * Parses a minX,minY,maxX,maxY rectangle.
+   *
+   * @return the four coordinates, or null if the text is not a valid rectangle
+   */
+  private static int[] parseBoundingBox(String bbox) {
+    String[] parts = bbox.split(",");
+    if (parts.length != 4) {
+      return null;
+    }
+    int[] box = new int[4];
+    try {
+      for (int i = 0; i < 4; i++) {
+        box[i] = Integer.parseInt(parts[i].trim());
+      }
+    } catch (NumberFormatException ex) {
+      return null;
     }
+    return box[0] <= box[2] && box[1] <= box[3] ? box : null;
   }
 }
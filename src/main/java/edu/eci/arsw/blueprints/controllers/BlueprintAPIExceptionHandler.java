@@ -0,0 +1,110 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Error pipeline of the Blueprint API.
+ * Maps the exceptions thrown by {@link BlueprintAPIController} to responses:
+ * missing blueprints to 404 Not Found, rejected writes to 403 Forbidden,
+ * work refused by a saturated worker pool to 503 Service Unavailable and
+ * anything else to 500 Internal Server Error. Malformed requests keep the
+ * standard Spring MVC responses inherited from
+ * {@link ResponseEntityExceptionHandler}. Expected misses are logged
+ * without stack traces at FINE level, unexpected errors at SEVERE level, and
+ * both through a {@link SampledLogger} so bursts of failures cannot flood
+ * the logs.
+ *
+ * Error responses are built once and shared by every request, so their
+ * bodies are constant: the details of a miss or a rejected write, such as
+ * the blueprint name, only go to the log.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-29
+ */
+@ControllerAdvice(assignableTypes = BlueprintAPIController.class)
+public class BlueprintAPIExceptionHandler extends ResponseEntityExceptionHandler {
+
+  private static final Logger LOGGER = Logger.getLogger(BlueprintAPIController.class.getName());
+
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private static final ResponseEntity<String> NOT_FOUND =
+      new ResponseEntity<>("Blueprint or author not found", HttpStatus.NOT_FOUND);
+  private static final ResponseEntity<String> FORBIDDEN =
+      new ResponseEntity<>("Request rejected by the blueprint store", HttpStatus.FORBIDDEN);
+  private static final ResponseEntity<String> BUSY = busy();
+  private static final ResponseEntity<String> INTERNAL_ERROR =
+      new ResponseEntity<>("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+
+  private final SampledLogger missLog = new SampledLogger(LOGGER, 10);
+  private final SampledLogger errorLog = new SampledLogger(LOGGER, 10);
+
+  /**
+   * Handles requests for blueprints or authors that do not exist.
+   *
+   * @param ex the exception thrown by the persistence layer
+   * @return ResponseEntity with HTTP 404 NOT FOUND
+   */
+  @ExceptionHandler(BlueprintNotFoundException.class)
+  public ResponseEntity<String> handleNotFound(BlueprintNotFoundException ex) {
+    missLog.log(Level.FINE, ex.getMessage(), null);
+    return NOT_FOUND;
+  }
+
+  /**
+   * Handles writes rejected by the persistence layer, such as creating a
+   * blueprint that already exists.
+   *
+   * @param ex the exception thrown by the persistence layer
+   * @return ResponseEntity with HTTP 403 FORBIDDEN
+   */
+  @ExceptionHandler(BlueprintPersistenceException.class)
+  public ResponseEntity<String> handlePersistence(BlueprintPersistenceException ex) {
+    missLog.log(Level.FINE, ex.getMessage(), null);
+    return FORBIDDEN;
+  }
+
+  /**
+   * Handles work refused because a bounded worker pool is saturated, such as
+   * thumbnail rendering.
+   *
+   * @param ex the exception thrown by the saturated executor
+   * @return ResponseEntity with HTTP 503 SERVICE UNAVAILABLE and Retry-After
+   */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<String> handleRejected(RejectedExecutionException ex) {
+    missLog.log(Level.FINE, ex.getMessage(), null);
+    return BUSY;
+  }
+
+  private static ResponseEntity<String> busy() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    return new ResponseEntity<>("Server busy, try again later", headers, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  /**
+   * Handles unexpected errors. The details are logged, never sent to the
+   * client.
+   *
+   * @param ex the unexpected exception
+   * @return ResponseEntity with HTTP 500 INTERNAL SERVER ERROR
+   */
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<String> handleUnexpected(Exception ex) {
+    errorLog.log(Level.SEVERE, ex.getMessage(), ex);
+    return INTERNAL_ERROR;
+  }
+}
@@ -0,0 +1,65 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rate-limited logger for error paths.
+ * At most a fixed number of records are written per second; the rest are
+ * counted and reported in a single summary record when the next second
+ * starts logging again. Records below the logger level cost one level check.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-29
+ */
+public class SampledLogger {
+
+  private static final long WINDOW_NANOS = 1_000_000_000L;
+
+  private final Logger logger;
+  private final int perSecond;
+  private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+  private final AtomicInteger logged = new AtomicInteger();
+  private final AtomicLong suppressed = new AtomicLong();
+
+  /**
+   * Creates a sampled logger.
+   *
+   * @param logger    the logger records are written to
+   * @param perSecond the maximum number of records per second
+   */
+  public SampledLogger(Logger logger, int perSecond) {
+    this.logger = logger;
+    this.perSecond = perSecond;
+  }
+
+  /**
+   * Logs a record unless the budget of the current second is spent.
+   *
+   * @param level   the record level
+   * @param message the record message
+   * @param thrown  the exception to attach, or null
+   */
+  public void log(Level level, String message, Throwable thrown) {
+    if (!logger.isLoggable(level)) {
+      return;
+    }
+    long now = System.nanoTime();
+    long start = windowStart.get();
+    if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+      logged.set(0);
+      long dropped = suppressed.getAndSet(0);
+      if (dropped > 0) {
+        logger.log(level, "{0} similar records suppressed in the last second", dropped);
+      }
+    }
+    if (logged.incrementAndGet() > perSecond) {
+      suppressed.incrementAndGet();
+      return;
+    }
+    logger.log(level, message, thrown);
+  }
+}
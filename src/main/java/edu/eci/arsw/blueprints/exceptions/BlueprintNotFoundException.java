@@ -3,6 +3,9 @@ package edu.eci.arsw.blueprints.exceptions;
 /**
  * Exception thrown when a requested blueprint is not found in the persistence
  * layer.
+ * A missing blueprint is an expected outcome, often produced in bulk by stale
+ * clients and scanners, so the exception does not capture a stack trace nor
+ * record suppressed exceptions.
  *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
@@ -16,7 +19,7 @@ public class BlueprintNotFoundException extends Exception {
    * @param message the detail message explaining the reason for the exception
    */
   public BlueprintNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 
   /**
@@ -28,6 +31,6 @@ public class BlueprintNotFoundException extends Exception {
    *                retrieval)
    */
   public BlueprintNotFoundException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, false, false);
   }
 }
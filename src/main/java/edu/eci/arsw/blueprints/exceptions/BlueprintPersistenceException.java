@@ -2,7 +2,11 @@ package edu.eci.arsw.blueprints.exceptions;
 
 /**
  * Exception thrown when a persistence operation fails.
- * 
+ * Most failures are rejected writes, such as saving a blueprint that already
+ * exists, which clients can repeat at will; like
+ * {@link BlueprintNotFoundException} the exception is stackless, and a
+ * low-level failure keeps its trace in the cause.
+ *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
  * @since 2025-09-12
@@ -15,7 +19,7 @@ public class BlueprintPersistenceException extends Exception {
    * @param message the detail message explaining the reason for the exception
    */
   public BlueprintPersistenceException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 
   /**
@@ -27,6 +31,6 @@ public class BlueprintPersistenceException extends Exception {
    *                retrieval)
    */
   public BlueprintPersistenceException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, false, false);
   }
 }
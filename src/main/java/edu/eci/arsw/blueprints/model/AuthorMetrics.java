@@ -0,0 +1,123 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated geometric metrics of all the blueprints of an author.
+ * Instances are immutable; adding or removing the metrics of one blueprint
+ * returns a new aggregate in O(1).
+ *
+ * Totals are accumulated exactly: areas as integer doubled shoelace areas and
+ * path lengths as decimal sums of the per-blueprint values, so replacing the
+ * blueprints of an author any number of times leaves no rounding residue.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-23
+ */
+public class AuthorMetrics {
+
+  private final String author;
+  private final int blueprintCount;
+  private final long pointCount;
+  private final long segmentCount;
+  private final BigDecimal pathLength;
+  private final long doubledArea;
+
+  /**
+   * Constructs an empty aggregate for the given author.
+   *
+   * @param author the author of the blueprints
+   */
+  public AuthorMetrics(String author) {
+    this(author, 0, 0, 0, BigDecimal.ZERO, 0);
+  }
+
+  private AuthorMetrics(String author, int blueprintCount, long pointCount, long segmentCount,
+      BigDecimal pathLength, long doubledArea) {
+    this.author = author;
+    this.blueprintCount = blueprintCount;
+    this.pointCount = pointCount;
+    this.segmentCount = segmentCount;
+    this.pathLength = pathLength;
+    this.doubledArea = doubledArea;
+  }
+
+  /**
+   * Returns the aggregate that includes one more blueprint.
+   *
+   * @param metrics the metrics of the added blueprint
+   * @return the new aggregate
+   */
+  public AuthorMetrics plus(BlueprintMetrics metrics) {
+    return new AuthorMetrics(author, blueprintCount + 1, pointCount + metrics.getPointCount(),
+        segmentCount + metrics.getSegmentCount(), pathLength.add(new BigDecimal(metrics.getPathLength())),
+        doubledArea + metrics.doubledArea());
+  }
+
+  /**
+   * Returns the aggregate without one of its blueprints.
+   *
+   * @param metrics the metrics of the removed blueprint
+   * @return the new aggregate
+   */
+  public AuthorMetrics minus(BlueprintMetrics metrics) {
+    return new AuthorMetrics(author, blueprintCount - 1, pointCount - metrics.getPointCount(),
+        segmentCount - metrics.getSegmentCount(), pathLength.subtract(new BigDecimal(metrics.getPathLength())),
+        doubledArea - metrics.doubledArea());
+  }
+
+  /**
+   * Gets the author of the blueprints.
+   *
+   * @return the author
+   */
+  public String getAuthor() {
+    return author;
+  }
+
+  /**
+   * Gets the number of blueprints of the author.
+   *
+   * @return the blueprint count
+   */
+  public int getBlueprintCount() {
+    return blueprintCount;
+  }
+
+  /**
+   * Gets the total number of points of the author's blueprints.
+   *
+   * @return the point count
+   */
+  public long getPointCount() {
+    return pointCount;
+  }
+
+  /**
+   * Gets the total number of segments of the author's blueprints.
+   *
+   * @return the segment count
+   */
+  public long getSegmentCount() {
+    return segmentCount;
+  }
+
+  /**
+   * Gets the summed path length of the author's blueprints.
+   *
+   * @return the total path length
+   */
+  public double getPathLength() {
+    return pathLength.doubleValue();
+  }
+
+  /**
+   * Gets the summed enclosed area of the author's blueprints.
+   *
+   * @return the total area
+   */
+  public double getArea() {
+    return doubledArea / 2.0;
+  }
+}
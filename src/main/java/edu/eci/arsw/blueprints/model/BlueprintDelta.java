@@ -0,0 +1,114 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Points changed between two versions of a blueprint.
+ * A client holding the points of {@code fromVersion} obtains those of
+ * {@code toVersion} by truncating or extending its list to
+ * {@code pointCount} points and then setting every change.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-30
+ */
+public class BlueprintDelta {
+
+  private long fromVersion;
+  private long toVersion;
+  private int pointCount;
+  private List<PointChange> changes;
+
+  /**
+   * Default constructor.
+   */
+  public BlueprintDelta() {
+  }
+
+  /**
+   * Constructs a BlueprintDelta.
+   *
+   * @param fromVersion the version the delta applies to
+   * @param toVersion   the version the delta produces
+   * @param pointCount  the number of points of the target version
+   * @param changes     the points that differ in the target version
+   */
+  public BlueprintDelta(long fromVersion, long toVersion, int pointCount, List<PointChange> changes) {
+    this.fromVersion = fromVersion;
+    this.toVersion = toVersion;
+    this.pointCount = pointCount;
+    this.changes = changes;
+  }
+
+  /**
+   * Gets the version the delta applies to.
+   *
+   * @return the source version
+   */
+  public long getFromVersion() {
+    return fromVersion;
+  }
+
+  /**
+   * Sets the version the delta applies to.
+   *
+   * @param fromVersion the source version to set
+   */
+  public void setFromVersion(long fromVersion) {
+    this.fromVersion = fromVersion;
+  }
+
+  /**
+   * Gets the version the delta produces.
+   *
+   * @return the target version
+   */
+  public long getToVersion() {
+    return toVersion;
+  }
+
+  /**
+   * Sets the version the delta produces.
+   *
+   * @param toVersion the target version to set
+   */
+  public void setToVersion(long toVersion) {
+    this.toVersion = toVersion;
+  }
+
+  /**
+   * Gets the number of points of the target version.
+   *
+   * @return the point count
+   */
+  public int getPointCount() {
+    return pointCount;
+  }
+
+  /**
+   * Sets the number of points of the target version.
+   *
+   * @param pointCount the point count to set
+   */
+  public void setPointCount(int pointCount) {
+    this.pointCount = pointCount;
+  }
+
+  /**
+   * Gets the points that differ in the target version.
+   *
+   * @return the changed points, in index order
+   */
+  public List<PointChange> getChanges() {
+    return changes;
+  }
+
+  /**
+   * Sets the points that differ in the target version.
+   *
+   * @param changes the changed points to set
+   */
+  public void setChanges(List<PointChange> changes) {
+    this.changes = changes;
+  }
+}
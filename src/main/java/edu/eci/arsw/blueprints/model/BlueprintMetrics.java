@@ -0,0 +1,224 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Geometric metrics of a blueprint: path length, bounding box, enclosed area
+ * and segment count.
+ * Instances are immutable. Besides the published values they keep the first
+ * and last points and the running shoelace sum of the open path, so appending
+ * k points produces the new metrics in O(k) without revisiting the existing
+ * points. The enclosed area treats the path as a polygon closed from the last
+ * point back to the first one.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-23
+ */
+public class BlueprintMetrics {
+
+  /**
+   * Number of bytes written by {@link #writeTo(ByteBuffer)}.
+   */
+  public static final int BYTES = 4 + 8 + 8 * 4 + 8;
+
+  private static final BlueprintMetrics EMPTY = new BlueprintMetrics(0, 0.0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+  private final int pointCount;
+  private final double pathLength;
+  private final int minX;
+  private final int minY;
+  private final int maxX;
+  private final int maxY;
+  private final int firstX;
+  private final int firstY;
+  private final int lastX;
+  private final int lastY;
+  private final long shoelaceSum;
+
+  private BlueprintMetrics(int pointCount, double pathLength, int minX, int minY, int maxX, int maxY,
+      int firstX, int firstY, int lastX, int lastY, long shoelaceSum) {
+    this.pointCount = pointCount;
+    this.pathLength = pathLength;
+    this.minX = minX;
+    this.minY = minY;
+    this.maxX = maxX;
+    this.maxY = maxY;
+    this.firstX = firstX;
+    this.firstY = firstY;
+    this.lastX = lastX;
+    this.lastY = lastY;
+    this.shoelaceSum = shoelaceSum;
+  }
+
+  /**
+   * Computes the metrics of the given points in a single pass.
+   *
+   * @param points the blueprint points, possibly null
+   * @return the metrics of the points
+   */
+  public static BlueprintMetrics of(List<Point> points) {
+    return EMPTY.append(points);
+  }
+
+  /**
+   * Restores metrics written by {@link #writeTo(ByteBuffer)}, reading
+   * {@link #BYTES} bytes from the buffer's position.
+   *
+   * @param buffer the buffer to read from
+   * @return the restored metrics
+   */
+  public static BlueprintMetrics readFrom(ByteBuffer buffer) {
+    return new BlueprintMetrics(buffer.getInt(), buffer.getDouble(), buffer.getInt(), buffer.getInt(),
+        buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+        buffer.getLong());
+  }
+
+  /**
+   * Writes the whole state of these metrics, including what appending needs,
+   * so they can be restored without the points.
+   *
+   * @param buffer the buffer to write to, with at least {@link #BYTES} bytes
+   *               remaining
+   */
+  public void writeTo(ByteBuffer buffer) {
+    buffer.putInt(pointCount).putDouble(pathLength).putInt(minX).putInt(minY).putInt(maxX).putInt(maxY)
+        .putInt(firstX).putInt(firstY).putInt(lastX).putInt(lastY).putLong(shoelaceSum);
+  }
+
+  /**
+   * Computes the metrics that result from appending the given points to the
+   * path described by this instance. Runs in O(k) for k appended points.
+   *
+   * @param points the points appended at the end of the path, possibly null
+   * @return the metrics of the extended path
+   */
+  public BlueprintMetrics append(List<Point> points) {
+    if (points == null || points.isEmpty()) {
+      return this;
+    }
+    int count = pointCount;
+    double length = pathLength;
+    int x0 = minX;
+    int y0 = minY;
+    int x1 = maxX;
+    int y1 = maxY;
+    int startX = firstX;
+    int startY = firstY;
+    int prevX = lastX;
+    int prevY = lastY;
+    long shoelace = shoelaceSum;
+
+    for (Point point : points) {
+      int x = point.getX();
+      int y = point.getY();
+      if (count == 0) {
+        x0 = x;
+        y0 = y;
+        x1 = x;
+        y1 = y;
+        startX = x;
+        startY = y;
+      } else {
+        length += Math.hypot((double) x - prevX, (double) y - prevY);
+        shoelace += (long) prevX * y - (long) x * prevY;
+        x0 = Math.min(x0, x);
+        y0 = Math.min(y0, y);
+        x1 = Math.max(x1, x);
+        y1 = Math.max(y1, y);
+      }
+      prevX = x;
+      prevY = y;
+      count++;
+    }
+    return new BlueprintMetrics(count, length, x0, y0, x1, y1, startX, startY, prevX, prevY, shoelace);
+  }
+
+  /**
+   * Gets the number of points.
+   *
+   * @return the point count
+   */
+  public int getPointCount() {
+    return pointCount;
+  }
+
+  /**
+   * Gets the number of segments joining consecutive points.
+   *
+   * @return the segment count
+   */
+  public int getSegmentCount() {
+    return Math.max(0, pointCount - 1);
+  }
+
+  /**
+   * Gets the total length of the path through all the points.
+   *
+   * @return the path length
+   */
+  public double getPathLength() {
+    return pathLength;
+  }
+
+  /**
+   * Gets the area enclosed by the path closed back to its first point.
+   *
+   * @return the enclosed area
+   */
+  public double getArea() {
+    return doubledArea() / 2.0;
+  }
+
+  /**
+   * Gets twice the enclosed area, which is an exact integer for integer
+   * coordinates, so aggregates can add and subtract it without rounding.
+   */
+  long doubledArea() {
+    long closing = (long) lastX * firstY - (long) firstX * lastY;
+    return Math.abs(shoelaceSum + closing);
+  }
+
+  /**
+   * Gets the smallest x coordinate of the bounding box.
+   *
+   * @return the minimum x
+   */
+  public int getMinX() {
+    return minX;
+  }
+
+  /**
+   * Gets the smallest y coordinate of the bounding box.
+   *
+   * @return the minimum y
+   */
+  public int getMinY() {
+    return minY;
+  }
+
+  /**
+   * Gets the largest x coordinate of the bounding box.
+   *
+   * @return the maximum x
+   */
+  public int getMaxX() {
+    return maxX;
+  }
+
+  /**
+   * Gets the largest y coordinate of the bounding box.
+   *
+   * @return the maximum y
+   */
+  public int getMaxY() {
+    return maxY;
+  }
+
+  @Override
+  public String toString() {
+    return "BlueprintMetrics{" + "pointCount=" + pointCount + ", pathLength=" + pathLength + ", area=" + getArea()
+        + ", bbox=[" + minX + "," + minY + "," + maxX + "," + maxY + "]}";
+  }
+}
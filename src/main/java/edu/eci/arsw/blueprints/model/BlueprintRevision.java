@@ -0,0 +1,95 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Entry of the revision history of a blueprint.
+ * Describes one stored version without its points.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-30
+ */
+public class BlueprintRevision {
+
+  private long version;
+  private long timestamp;
+  private int pointCount;
+
+  /**
+   * Default constructor.
+   */
+  public BlueprintRevision() {
+  }
+
+  /**
+   * Constructs a BlueprintRevision.
+   *
+   * @param version    the version number, starting at 1
+   * @param timestamp  the time the version was stored, in epoch milliseconds
+   * @param pointCount the number of points of the version
+   */
+  public BlueprintRevision(long version, long timestamp, int pointCount) {
+    this.version = version;
+    this.timestamp = timestamp;
+    this.pointCount = pointCount;
+  }
+
+  /**
+   * Gets the version number.
+   *
+   * @return the version number
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Sets the version number.
+   *
+   * @param version the version number to set
+   */
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  /**
+   * Gets the time the version was stored.
+   *
+   * @return the timestamp, in epoch milliseconds
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Sets the time the version was stored.
+   *
+   * @param timestamp the timestamp to set, in epoch milliseconds
+   */
+  public void setTimestamp(long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  /**
+   * Gets the number of points of the version.
+   *
+   * @return the point count
+   */
+  public int getPointCount() {
+    return pointCount;
+  }
+
+  /**
+   * Sets the number of points of the version.
+   *
+   * @param pointCount the point count to set
+   */
+  public void setPointCount(int pointCount) {
+    this.pointCount = pointCount;
+  }
+
+  @Override
+  public String toString() {
+    return "BlueprintRevision{" + "version=" + version + ", timestamp=" + timestamp + ", pointCount=" + pointCount
+        + '}';
+  }
+}
@@ -0,0 +1,131 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Segment of a blueprint, joining the point at {@code index} with the next
+ * one.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-31
+ */
+public class BlueprintSegment {
+
+  private int index;
+  private int x1;
+  private int y1;
+  private int x2;
+  private int y2;
+
+  /**
+   * Default constructor.
+   */
+  public BlueprintSegment() {
+  }
+
+  /**
+   * Constructs a BlueprintSegment.
+   *
+   * @param index the position of the first point of the segment
+   * @param x1    the x coordinate of the first point
+   * @param y1    the y coordinate of the first point
+   * @param x2    the x coordinate of the second point
+   * @param y2    the y coordinate of the second point
+   */
+  public BlueprintSegment(int index, int x1, int y1, int x2, int y2) {
+    this.index = index;
+    this.x1 = x1;
+    this.y1 = y1;
+    this.x2 = x2;
+    this.y2 = y2;
+  }
+
+  /**
+   * Gets the position of the first point of the segment.
+   *
+   * @return the index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Sets the position of the first point of the segment.
+   *
+   * @param index the index to set
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Gets the x coordinate of the first point.
+   *
+   * @return the x coordinate
+   */
+  public int getX1() {
+    return x1;
+  }
+
+  /**
+   * Sets the x coordinate of the first point.
+   *
+   * @param x1 the x coordinate to set
+   */
+  public void setX1(int x1) {
+    this.x1 = x1;
+  }
+
+  /**
+   * Gets the y coordinate of the first point.
+   *
+   * @return the y coordinate
+   */
+  public int getY1() {
+    return y1;
+  }
+
+  /**
+   * Sets the y coordinate of the first point.
+   *
+   * @param y1 the y coordinate to set
+   */
+  public void setY1(int y1) {
+    this.y1 = y1;
+  }
+
+  /**
+   * Gets the x coordinate of the second point.
+   *
+   * @return the x coordinate
+   */
+  public int getX2() {
+    return x2;
+  }
+
+  /**
+   * Sets the x coordinate of the second point.
+   *
+   * @param x2 the x coordinate to set
+   */
+  public void setX2(int x2) {
+    this.x2 = x2;
+  }
+
+  /**
+   * Gets the y coordinate of the second point.
+   *
+   * @return the y coordinate
+   */
+  public int getY2() {
+    return y2;
+  }
+
+  /**
+   * Sets the y coordinate of the second point.
+   *
+   * @param y2 the y coordinate to set
+   */
+  public void setY2(int y2) {
+    this.y2 = y2;
+  }
+}
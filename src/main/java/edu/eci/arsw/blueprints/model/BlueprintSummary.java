@@ -0,0 +1,92 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.Objects;
+
+/**
+ * Lightweight reference to a blueprint, identified by its author and name.
+ * Used by listings and searches that do not need the blueprint points.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-22
+ */
+public class BlueprintSummary {
+
+  private String author;
+  private String name;
+
+  /**
+   * Default constructor.
+   */
+  public BlueprintSummary() {
+  }
+
+  /**
+   * Constructs a BlueprintSummary with the specified author and name.
+   *
+   * @param author the author of the blueprint
+   * @param name   the name of the blueprint
+   */
+  public BlueprintSummary(String author, String name) {
+    this.author = author;
+    this.name = name;
+  }
+
+  /**
+   * Gets the author of the blueprint.
+   *
+   * @return the author
+   */
+  public String getAuthor() {
+    return author;
+  }
+
+  /**
+   * Sets the author of the blueprint.
+   *
+   * @param author the author to set
+   */
+  public void setAuthor(String author) {
+    this.author = author;
+  }
+
+  /**
+   * Gets the name of the blueprint.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Sets the name of the blueprint.
+   *
+   * @param name the name to set
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    BlueprintSummary other = (BlueprintSummary) obj;
+    return Objects.equals(author, other.author) && Objects.equals(name, other.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(author, name);
+  }
+
+  @Override
+  public String toString() {
+    return "BlueprintSummary{" + "author=" + author + ", name=" + name + '}';
+  }
+}
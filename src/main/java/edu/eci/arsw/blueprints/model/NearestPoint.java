@@ -0,0 +1,109 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Vertex of a blueprint closest to a queried location.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-31
+ */
+public class NearestPoint {
+
+  private int index;
+  private int x;
+  private int y;
+  private double distance;
+
+  /**
+   * Default constructor.
+   */
+  public NearestPoint() {
+  }
+
+  /**
+   * Constructs a NearestPoint.
+   *
+   * @param index    the position of the vertex in the blueprint
+   * @param x        the x coordinate of the vertex
+   * @param y        the y coordinate of the vertex
+   * @param distance the distance from the queried location
+   */
+  public NearestPoint(int index, int x, int y, double distance) {
+    this.index = index;
+    this.x = x;
+    this.y = y;
+    this.distance = distance;
+  }
+
+  /**
+   * Gets the position of the vertex in the blueprint.
+   *
+   * @return the index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Sets the position of the vertex in the blueprint.
+   *
+   * @param index the index to set
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Gets the x coordinate of the vertex.
+   *
+   * @return the x coordinate
+   */
+  public int getX() {
+    return x;
+  }
+
+  /**
+   * Sets the x coordinate of the vertex.
+   *
+   * @param x the x coordinate to set
+   */
+  public void setX(int x) {
+    this.x = x;
+  }
+
+  /**
+   * Gets the y coordinate of the vertex.
+   *
+   * @return the y coordinate
+   */
+  public int getY() {
+    return y;
+  }
+
+  /**
+   * Sets the y coordinate of the vertex.
+   *
+   * @param y the y coordinate to set
+   */
+  public void setY(int y) {
+    this.y = y;
+  }
+
+  /**
+   * Gets the distance from the queried location.
+   *
+   * @return the distance
+   */
+  public double getDistance() {
+    return distance;
+  }
+
+  /**
+   * Sets the distance from the queried location.
+   *
+   * @param distance the distance to set
+   */
+  public void setDistance(double distance) {
+    this.distance = distance;
+  }
+}
@@ -0,0 +1,89 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * A point set at a given position of a blueprint, as part of a
+ * {@link BlueprintDelta}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-30
+ */
+public class PointChange {
+
+  private int index;
+  private int x;
+  private int y;
+
+  /**
+   * Default constructor.
+   */
+  public PointChange() {
+  }
+
+  /**
+   * Constructs a PointChange.
+   *
+   * @param index the position of the point in the blueprint
+   * @param x     the x coordinate of the point
+   * @param y     the y coordinate of the point
+   */
+  public PointChange(int index, int x, int y) {
+    this.index = index;
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Gets the position of the point in the blueprint.
+   *
+   * @return the index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Sets the position of the point in the blueprint.
+   *
+   * @param index the index to set
+   */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Gets the x coordinate of the point.
+   *
+   * @return the x coordinate
+   */
+  public int getX() {
+    return x;
+  }
+
+  /**
+   * Sets the x coordinate of the point.
+   *
+   * @param x the x coordinate to set
+   */
+  public void setX(int x) {
+    this.x = x;
+  }
+
+  /**
+   * Gets the y coordinate of the point.
+   *
+   * @return the y coordinate
+   */
+  public int getY() {
+    return y;
+  }
+
+  /**
+   * Sets the y coordinate of the point.
+   *
+   * @param y the y coordinate to set
+   */
+  public void setY(int y) {
+    this.y = y;
+  }
+}
@@ -0,0 +1,90 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Blueprint found by a shape-similarity search, with its distance to the
+ * queried blueprint.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-01
+ */
+public class SimilarBlueprint {
+
+  private String author;
+  private String name;
+  private double distance;
+
+  /**
+   * Default constructor.
+   */
+  public SimilarBlueprint() {
+  }
+
+  /**
+   * Constructs a SimilarBlueprint.
+   *
+   * @param author   the author of the blueprint
+   * @param name     the name of the blueprint
+   * @param distance the shape distance to the queried blueprint, 0 for
+   *                 identical shapes
+   */
+  public SimilarBlueprint(String author, String name, double distance) {
+    this.author = author;
+    this.name = name;
+    this.distance = distance;
+  }
+
+  /**
+   * Gets the author of the blueprint.
+   *
+   * @return the author
+   */
+  public String getAuthor() {
+    return author;
+  }
+
+  /**
+   * Sets the author of the blueprint.
+   *
+   * @param author the author to set
+   */
+  public void setAuthor(String author) {
+    this.author = author;
+  }
+
+  /**
+   * Gets the name of the blueprint.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Sets the name of the blueprint.
+   *
+   * @param name the name to set
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets the shape distance to the queried blueprint.
+   *
+   * @return the distance, 0 for identical shapes
+   */
+  public double getDistance() {
+    return distance;
+  }
+
+  /**
+   * Sets the shape distance to the queried blueprint.
+   *
+   * @param distance the distance to set
+   */
+  public void setDistance(double distance) {
+    this.distance = distance;
+  }
+}
@@ -0,0 +1,68 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader over the stored points of one blueprint, as stored when it was
+ * opened. Points are read in ranges, so paging or streaming a huge blueprint
+ * never decodes it whole; later writes to the blueprint are not seen. Readers
+ * must be closed, since they may hold a file or a storage snapshot open.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-27
+ */
+public interface BlueprintPointsReader extends Closeable {
+
+  /**
+   * Gets the number of points of the blueprint.
+   *
+   * @return the point count
+   */
+  int size();
+
+  /**
+   * Reads a range of points.
+   *
+   * @param offset the index of the first point to read
+   * @param count  the maximum number of points to read
+   * @return the points from the offset on, fewer than count at the end, or
+   *         empty if the offset is past the end
+   */
+  List<Point> read(int offset, int count);
+
+  @Override
+  void close();
+
+  /**
+   * Creates a reader over points already in memory.
+   *
+   * @param points the points, possibly null
+   * @return the reader
+   */
+  static BlueprintPointsReader of(List<Point> points) {
+    List<Point> stored = points == null ? new ArrayList<>() : points;
+    return new BlueprintPointsReader() {
+
+      @Override
+      public int size() {
+        return stored.size();
+      }
+
+      @Override
+      public List<Point> read(int offset, int count) {
+        int from = Math.min(offset, stored.size());
+        return stored.subList(from, (int) Math.min((long) from + count, stored.size()));
+      }
+
+      @Override
+      public void close() {
+        // Nothing to release
+      }
+    };
+  }
+}
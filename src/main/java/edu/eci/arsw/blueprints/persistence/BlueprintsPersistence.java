@@ -1,8 +1,16 @@
 package edu.eci.arsw.blueprints.persistence;
 
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
 import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -65,4 +73,131 @@ public interface BlueprintsPersistence {
    * @throws BlueprintPersistenceException if any other persistence error occurs
    */
   public void updateBlueprint(Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException;
+
+  /**
+   * Searches blueprints whose author or name contains the given text.
+   * Implementations answer from an index maintained on save, without scanning
+   * the stored blueprints.
+   *
+   * @param query the text to search for, ignoring case
+   * @param limit the maximum number of results
+   * @return the matching blueprints, best matches first
+   */
+  public List<BlueprintSummary> searchBlueprints(String query, int limit);
+
+  /**
+   * Appends points at the end of an existing blueprint. The stored metrics are
+   * updated incrementally from the appended points only.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @param points        the points to append
+   * @throws BlueprintNotFoundException    if the blueprint doesn't exist
+   * @throws BlueprintPersistenceException if any other persistence error occurs
+   */
+  public void appendPoints(String author, String blueprintName, List<Point> points)
+      throws BlueprintNotFoundException, BlueprintPersistenceException;
+
+  /**
+   * Retrieves the geometric metrics computed when the blueprint was stored.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @return the metrics of the blueprint
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public BlueprintMetrics getBlueprintMetrics(String author, String blueprintName) throws BlueprintNotFoundException;
+
+  /**
+   * Retrieves the aggregated metrics of all the blueprints of an author.
+   *
+   * @param author the blueprint author
+   * @return the aggregated metrics of the author
+   * @throws BlueprintNotFoundException if no blueprints are found for the given
+   *                                    author
+   */
+  public AuthorMetrics getAuthorMetrics(String author) throws BlueprintNotFoundException;
+
+  /**
+   * Retrieves a past version of a blueprint. Only the most recent versions
+   * of each blueprint are kept.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @param version       the version number, starting at 1
+   * @return the blueprint as it was at the given version
+   * @throws BlueprintNotFoundException if the blueprint or the version is not
+   *                                    found
+   */
+  public Blueprint getBlueprint(String author, String blueprintName, long version) throws BlueprintNotFoundException;
+
+  /**
+   * Retrieves the current version number of a blueprint, which changes on
+   * every write. Cheap and free of side effects, so it can key caches of
+   * data derived from the blueprint.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @return the current version number, starting at 1
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public long getBlueprintVersion(String author, String blueprintName) throws BlueprintNotFoundException;
+
+  /**
+   * Retrieves the kept versions of a blueprint.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @return the versions, oldest first
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public List<BlueprintRevision> getBlueprintHistory(String author, String blueprintName)
+      throws BlueprintNotFoundException;
+
+  /**
+   * Computes the points changed between two kept versions of a blueprint.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @param fromVersion   the version the delta applies to
+   * @param toVersion     the version the delta produces
+   * @return the delta between both versions
+   * @throws BlueprintNotFoundException if the blueprint or either version is
+   *                                    not found
+   */
+  public BlueprintDelta getBlueprintDelta(String author, String blueprintName, long fromVersion, long toVersion)
+      throws BlueprintNotFoundException;
+
+  /**
+   * Finds the blueprints whose shape is most similar to the given one,
+   * regardless of position and size. Implementations answer from an index
+   * maintained on save, without comparing against the whole catalog.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @param k             the maximum number of results
+   * @return the most similar blueprints, closest first
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public List<SimilarBlueprint> findSimilarBlueprints(String author, String blueprintName, int k)
+      throws BlueprintNotFoundException;
+
+  /**
+   * Opens a reader over the stored points of a blueprint, without filtering.
+   * Implementations read only the requested ranges when the blueprint is not
+   * already in memory, and from a consistent version even if it is written
+   * meanwhile.
+   *
+   * @param author        the blueprint's author
+   * @param blueprintName the blueprint's name
+   * @return the reader, which the caller must close
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public BlueprintPointsReader openBlueprintPoints(String author, String blueprintName)
+      throws BlueprintNotFoundException;
 }
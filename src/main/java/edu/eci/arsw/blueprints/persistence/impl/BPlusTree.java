@@ -0,0 +1,1156 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * File-backed B+tree mapping byte-string keys to packed point coordinates.
+ * The file is split in 4 KB pages and memory-mapped in 64 MB regions, so the
+ * operating system page cache decides which parts stay in memory and the
+ * stored data can be far bigger than the heap. Keys are ordered by unsigned
+ * byte comparison and kept in slotted leaf and internal pages; a range scan
+ * descends once and then walks the subtrees overlapping the range in order.
+ * Values are stored out of line, as runs of 64-byte blocks holding the x, y
+ * ints of every point, and read back with bulk copies; small blueprints
+ * share pages instead of taking one each. Every leaf entry also keeps a small
+ * metadata value next to the reference to its blocks, so what callers derive
+ * from the points can be read back without decoding them.
+ *
+ * Pages are copy-on-write: a write never modifies a page reachable from the
+ * committed root. It writes the new value and new copies of the pages on the
+ * path from its leaf to the root, forces them to disk and only then commits,
+ * writing the new root to the older of two checksummed header slots and
+ * forcing it. A crash leaves either the previous or the new tree, never a
+ * mix. Lookups and scans read the tree committed when they started, so they
+ * run concurrently with each other and with a writer; writes must be
+ * serialized by the caller. The pages and blocks a write replaces are reused
+ * once that write is durable and no reader of an older tree remains.
+ *
+ * Free space is kept as runs of blocks, merged with their neighbours when
+ * freed; pages are taken as page-aligned runs. It is not persisted: it is
+ * rebuilt when the file is opened by marking every page and block reachable
+ * from the root in a bitmap indexed by long block numbers.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-04
+ */
+public class BPlusTree implements Closeable {
+
+  /**
+   * Size of every page, in bytes.
+   */
+  public static final int PAGE_SIZE = 4096;
+
+  /**
+   * Maximum length of a key, in bytes. Guarantees several entries per page.
+   */
+  public static final int MAX_KEY_BYTES = 512;
+
+  /**
+   * Maximum length of the metadata of an entry, in bytes.
+   */
+  public static final int MAX_METADATA_BYTES = 256;
+
+  private static final int BLOCK_SIZE = 64;
+  private static final int BLOCKS_PER_PAGE = PAGE_SIZE / BLOCK_SIZE;
+  private static final int REGION_PAGES = 16 * 1024;
+  private static final long REGION_BYTES = (long) REGION_PAGES * PAGE_SIZE;
+
+  private static final int MAGIC = 0x42505432;
+  private static final int[] HEADER_SLOTS = { 0, PAGE_SIZE / 2 };
+  private static final int SLOT_MAGIC = 0;
+  private static final int SLOT_PAGE_SIZE = 4;
+  private static final int SLOT_GENERATION = 8;
+  private static final int SLOT_ROOT = 16;
+  private static final int SLOT_PAGE_COUNT = 24;
+  private static final int SLOT_SIZE = 32;
+  private static final int SLOT_CHECKSUM = 40;
+
+  private static final byte LEAF = 1;
+  private static final byte INTERNAL = 2;
+  private static final int NODE_TYPE = 0;
+  private static final int NODE_COUNT = 1;
+  private static final int NODE_LINK = 3;
+  private static final int NODE_SLOTS = 11;
+  private static final int LEAF_VALUE_BYTES = 14;
+  private static final int CHILD_BYTES = 8;
+
+  private final FileChannel channel;
+  private final List<MappedByteBuffer> regions = new CopyOnWriteArrayList<>();
+  private final TreeMap<Long, Long> freeRuns = new TreeMap<>();
+  private final TreeMap<Long, TreeSet<Long>> freeRunsBySize = new TreeMap<>();
+  private final List<long[]> written = new ArrayList<>();
+  private final ArrayDeque<Retired> retired = new ArrayDeque<>();
+  private final TreeMap<Long, Integer> readers = new TreeMap<>();
+  private volatile Snapshot current;
+  private volatile long pageCount;
+  private volatile long freeBlocks;
+  private boolean grown;
+
+  /**
+   * Opens the tree stored in a file, creating an empty one if the file does
+   * not exist or is empty.
+   *
+   * @param file the tree file
+   */
+  public BPlusTree(Path file) {
+    try {
+      this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      if (channel.size() == 0) {
+        pageCount = 2;
+        mapRegions();
+        writeNode(1, new Node(true));
+        commit(1, 1, 0, null);
+      } else {
+        mapRegion(0);
+        Snapshot first = readHeader(HEADER_SLOTS[0]);
+        Snapshot second = readHeader(HEADER_SLOTS[1]);
+        if (first == null && second == null) {
+          throw new IllegalStateException("Not a blueprint B+tree file: " + file);
+        }
+        current = second == null || (first != null && first.generation > second.generation) ? first : second;
+        pageCount = current.pageCount;
+        mapRegions();
+        grown = false;
+        rebuildFreeRuns();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to open B+tree file: " + file, ex);
+    }
+  }
+
+  /**
+   * Gets the coordinates stored under a key.
+   *
+   * @param key the key
+   * @return the x, y coordinates of every point, or null if the key is absent
+   */
+  public int[] get(byte[] key) {
+    Snapshot snapshot = enter();
+    try {
+      long page = findLeaf(snapshot.root, key);
+      int slot = search(page, key);
+      return slot < 0 ? null : readValue(page, slot);
+    } finally {
+      exit(snapshot);
+    }
+  }
+
+  /**
+   * Opens a reader over the coordinates stored under a key in the tree
+   * committed when it opens. The reader copies only the ranges it is asked
+   * for, and the blocks of the value are not reused until it is closed.
+   *
+   * @param key the key
+   * @return the reader, which the caller must close, or null if the key is
+   *         absent
+   */
+  public ValueReader openValue(byte[] key) {
+    Snapshot snapshot = enter();
+    try {
+      long page = findLeaf(snapshot.root, key);
+      int slot = search(page, key);
+      if (slot < 0) {
+        return null;
+      }
+      int valueAt = valueAt(page, slot);
+      ByteBuffer buffer = region(page);
+      ValueReader reader = new ValueReader(snapshot, buffer.getLong(valueAt), buffer.getInt(valueAt + 8));
+      snapshot = null;
+      return reader;
+    } finally {
+      if (snapshot != null) {
+        exit(snapshot);
+      }
+    }
+  }
+
+  /**
+   * Tells whether a key is present, without reading its value.
+   *
+   * @param key the key
+   * @return true if the key is present
+   */
+  public boolean containsKey(byte[] key) {
+    Snapshot snapshot = enter();
+    try {
+      return search(findLeaf(snapshot.root, key), key) >= 0;
+    } finally {
+      exit(snapshot);
+    }
+  }
+
+  /**
+   * Visits the entries whose key is in a range, in key order.
+   *
+   * @param from   the first key of the range, inclusive, or null to start at
+   *               the first key
+   * @param to     the end of the range, exclusive, or null to scan to the end
+   * @param action the action receiving every key and its coordinates
+   */
+  public void scan(byte[] from, byte[] to, BiConsumer<byte[], int[]> action) {
+    visit(from, to, (page, slot, key) -> action.accept(key, readValue(page, slot)));
+  }
+
+  /**
+   * Visits the metadata of the entries whose key is in a range, in key
+   * order, without reading their values.
+   *
+   * @param from   the first key of the range, inclusive, or null to start at
+   *               the first key
+   * @param to     the end of the range, exclusive, or null to scan to the end
+   * @param action the action receiving every key and its metadata
+   */
+  public void scanMetadata(byte[] from, byte[] to, BiConsumer<byte[], byte[]> action) {
+    visit(from, to, (page, slot, key) -> action.accept(key, readMetadata(page, slot)));
+  }
+
+  /**
+   * Stores the coordinates of a key and their metadata, replacing its
+   * previous value. The change is durable when this method returns.
+   *
+   * @param key         the key, at most {@link #MAX_KEY_BYTES} long
+   * @param coordinates the x, y coordinates of every point
+   * @param metadata    the metadata kept next to the value, at most
+   *                    {@link #MAX_METADATA_BYTES} long, or null
+   * @return true if the key was new
+   */
+  public boolean put(byte[] key, int[] coordinates, byte[] metadata) {
+    if (key.length > MAX_KEY_BYTES) {
+      throw new IllegalArgumentException("Key longer than " + MAX_KEY_BYTES + " bytes");
+    }
+    byte[] meta = metadata == null ? new byte[0] : metadata;
+    if (meta.length > MAX_METADATA_BYTES) {
+      throw new IllegalArgumentException("Metadata longer than " + MAX_METADATA_BYTES + " bytes");
+    }
+    reclaim();
+    written.clear();
+    Snapshot base = current;
+    Retired replaced = new Retired(base.generation + 1);
+    int points = coordinates.length / 2;
+    long block = writeValue(coordinates);
+
+    List<Long> path = new ArrayList<>();
+    long page = base.root;
+    while (region(page).get(offset(page) + NODE_TYPE) == INTERNAL) {
+      path.add(page);
+      page = child(page, key);
+    }
+    Node node = readNode(page);
+    replaced.pages.add(page);
+    int index = node.search(key);
+    boolean added = index < 0;
+    if (added) {
+      node.keys.add(-index - 1, key);
+      node.refs.add(-index - 1, block);
+      node.counts.add(-index - 1, points);
+      node.metas.add(-index - 1, meta);
+    } else {
+      replaced.blocks.add(new long[] { node.refs.get(index), blocksOf(node.counts.get(index)) });
+      node.refs.set(index, block);
+      node.counts.set(index, points);
+      node.metas.set(index, meta);
+    }
+
+    // Copy the path bottom-up, splitting the pages that overflow
+    long root;
+    while (true) {
+      byte[] separator = null;
+      long rightPage = 0;
+      if (node.bytes() > PAGE_SIZE) {
+        int splitAt = node.splitPoint();
+        separator = node.keys.get(splitAt);
+        Node right = node.split(splitAt);
+        rightPage = allocate(1);
+        writeNode(rightPage, right);
+      }
+      long nodePage = allocate(1);
+      writeNode(nodePage, node);
+      if (path.isEmpty()) {
+        if (separator == null) {
+          root = nodePage;
+        } else {
+          Node newRoot = new Node(false);
+          newRoot.link = nodePage;
+          newRoot.keys.add(separator);
+          newRoot.refs.add(rightPage);
+          root = allocate(1);
+          writeNode(root, newRoot);
+        }
+        break;
+      }
+      long parentPage = path.remove(path.size() - 1);
+      Node parent = readNode(parentPage);
+      replaced.pages.add(parentPage);
+      int childIndex = parent.childIndex(key);
+      parent.setChild(childIndex, nodePage);
+      if (separator != null) {
+        parent.keys.add(childIndex, separator);
+        parent.refs.add(childIndex, rightPage);
+      }
+      node = parent;
+    }
+    commit(replaced.generation, root, base.size + (added ? 1 : 0), replaced);
+    return added;
+  }
+
+  /**
+   * Gets the number of keys.
+   *
+   * @return the number of entries
+   */
+  public long size() {
+    return current.size;
+  }
+
+  /**
+   * Gets the number of pages of the file, used or free.
+   *
+   * @return the number of pages
+   */
+  public long getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * Gets the free space available for reuse, in pages.
+   *
+   * @return the number of free pages
+   */
+  public long getFreePages() {
+    return freeBlocks / BLOCKS_PER_PAGE;
+  }
+
+  /**
+   * Closes the file. Every write is already durable. Closing twice has no
+   * effect.
+   */
+  @Override
+  public void close() {
+    if (!channel.isOpen()) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to close B+tree file", ex);
+    }
+  }
+
+  /**
+   * Registers a reader of the committed tree, so the pages it may visit are
+   * not reused until it leaves.
+   */
+  private Snapshot enter() {
+    synchronized (readers) {
+      Snapshot snapshot = current;
+      readers.merge(snapshot.generation, 1, Integer::sum);
+      return snapshot;
+    }
+  }
+
+  private void exit(Snapshot snapshot) {
+    synchronized (readers) {
+      readers.computeIfPresent(snapshot.generation, (generation, count) -> count == 1 ? null : count - 1);
+    }
+  }
+
+  /**
+   * Makes the written pages durable, then commits the new root by writing
+   * and forcing the header slot of its generation, and publishes it to new
+   * readers. What the write replaced is retired until no reader of an older
+   * tree remains.
+   */
+  private void commit(long generation, long root, long size, Retired replaced) {
+    written.sort(Comparator.comparingLong(run -> run[0]));
+    long first = -1;
+    long end = -1;
+    for (long[] run : written) {
+      if (run[0] > end) {
+        forcePages(first, end - first);
+        first = run[0];
+      }
+      end = Math.max(end, run[0] + run[1]);
+    }
+    forcePages(first, end - first);
+    written.clear();
+    if (grown) {
+      try {
+        channel.force(true);
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Unable to force B+tree file", ex);
+      }
+      grown = false;
+    }
+
+    int slot = HEADER_SLOTS[(int) (generation & 1)];
+    ByteBuffer header = region(0);
+    header.putInt(slot + SLOT_MAGIC, MAGIC);
+    header.putInt(slot + SLOT_PAGE_SIZE, PAGE_SIZE);
+    header.putLong(slot + SLOT_GENERATION, generation);
+    header.putLong(slot + SLOT_ROOT, root);
+    header.putLong(slot + SLOT_PAGE_COUNT, pageCount);
+    header.putLong(slot + SLOT_SIZE, size);
+    header.putLong(slot + SLOT_CHECKSUM, checksum(header, slot));
+    forcePages(0, 1);
+
+    current = new Snapshot(generation, root, pageCount, size);
+    if (replaced != null) {
+      retired.add(replaced);
+      reclaim();
+    }
+  }
+
+  /**
+   * Reads a header slot.
+   *
+   * @return the tree it commits, or null if the slot is empty or torn
+   */
+  private Snapshot readHeader(int slot) {
+    ByteBuffer header = region(0);
+    if (header.getInt(slot + SLOT_MAGIC) != MAGIC || header.getInt(slot + SLOT_PAGE_SIZE) != PAGE_SIZE
+        || header.getLong(slot + SLOT_CHECKSUM) != checksum(header, slot)) {
+      return null;
+    }
+    return new Snapshot(header.getLong(slot + SLOT_GENERATION), header.getLong(slot + SLOT_ROOT),
+        header.getLong(slot + SLOT_PAGE_COUNT), header.getLong(slot + SLOT_SIZE));
+  }
+
+  private static long checksum(ByteBuffer header, int slot) {
+    ByteBuffer fields = header.duplicate();
+    fields.position(slot).limit(slot + SLOT_CHECKSUM);
+    CRC32 crc = new CRC32();
+    crc.update(fields);
+    return crc.getValue();
+  }
+
+  /**
+   * Frees the pages and blocks retired by writes that no reader can still
+   * reach.
+   */
+  private void reclaim() {
+    long oldest;
+    synchronized (readers) {
+      oldest = readers.isEmpty() ? Long.MAX_VALUE : readers.firstKey();
+    }
+    while (!retired.isEmpty() && retired.peekFirst().generation <= oldest) {
+      Retired entry = retired.pollFirst();
+      for (long page : entry.pages) {
+        release(page, 1);
+      }
+      for (long[] run : entry.blocks) {
+        releaseBlocks(run[0], run[1]);
+      }
+    }
+  }
+
+  private void forcePages(long first, long pages) {
+    while (pages > 0) {
+      long inRegion = Math.min(pages, REGION_PAGES - first % REGION_PAGES);
+      region(first).force(offset(first), (int) inRegion * PAGE_SIZE);
+      first += inRegion;
+      pages -= inRegion;
+    }
+  }
+
+  private long findLeaf(long root, byte[] key) {
+    long page = root;
+    while (region(page).get(offset(page) + NODE_TYPE) == INTERNAL) {
+      page = child(page, key);
+    }
+    return page;
+  }
+
+  /**
+   * Visits the entries in a range of the committed tree.
+   */
+  private void visit(byte[] from, byte[] to, EntryVisitor visitor) {
+    Snapshot snapshot = enter();
+    try {
+      visit(snapshot.root, from, to, visitor);
+    } finally {
+      exit(snapshot);
+    }
+  }
+
+  /**
+   * Visits the entries of a subtree from a key on, in order.
+   *
+   * @return false once an entry at or past the end of the range is reached
+   */
+  private boolean visit(long page, byte[] from, byte[] to, EntryVisitor visitor) {
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    int count = buffer.getShort(base + NODE_COUNT);
+    if (buffer.get(base + NODE_TYPE) == LEAF) {
+      for (int slot = from == null ? 0 : lowerBound(page, from); slot < count; slot++) {
+        byte[] key = key(page, slot);
+        if (to != null && compare(key, to) >= 0) {
+          return false;
+        }
+        visitor.visit(page, slot, key);
+      }
+      return true;
+    }
+    int first = from == null ? 0 : childIndex(page, from);
+    for (int index = first; index <= count; index++) {
+      // Every key of the child right of a separator is at least the separator
+      if (index > 0 && to != null && compareKey(buffer, base, index - 1, to) >= 0) {
+        return false;
+      }
+      if (!visit(childAt(page, index), index == first ? from : null, to, visitor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the child of an internal page covering a key.
+   */
+  private long child(long page, byte[] key) {
+    return childAt(page, childIndex(page, key));
+  }
+
+  /**
+   * Gets the number of separators of an internal page not greater than a
+   * key, which is the index of the child covering it.
+   */
+  private int childIndex(long page, byte[] key) {
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    int low = 0;
+    int high = buffer.getShort(base + NODE_COUNT);
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compareKey(buffer, base, middle, key) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets a child of an internal page: the leftmost one for index 0, else the
+   * one right of separator {@code index - 1}.
+   */
+  private long childAt(long page, int index) {
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    if (index == 0) {
+      return buffer.getLong(base + NODE_LINK);
+    }
+    int entry = base + buffer.getShort(base + NODE_SLOTS + 2 * (index - 1));
+    return buffer.getLong(entry + 2 + buffer.getShort(entry));
+  }
+
+  /**
+   * Finds a key in a leaf page.
+   *
+   * @return the slot of the key, or -(insertion slot) - 1 if absent
+   */
+  private int search(long page, byte[] key) {
+    int slot = lowerBound(page, key);
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    if (slot < buffer.getShort(base + NODE_COUNT) && compareKey(buffer, base, slot, key) == 0) {
+      return slot;
+    }
+    return -slot - 1;
+  }
+
+  private int lowerBound(long page, byte[] key) {
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    int low = 0;
+    int high = buffer.getShort(base + NODE_COUNT);
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compareKey(buffer, base, middle, key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static int compareKey(ByteBuffer buffer, int base, int slot, byte[] key) {
+    int entry = base + buffer.getShort(base + NODE_SLOTS + 2 * slot);
+    int length = buffer.getShort(entry);
+    int common = Math.min(length, key.length);
+    for (int i = 0; i < common; i++) {
+      int difference = (buffer.get(entry + 2 + i) & 0xff) - (key[i] & 0xff);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length - key.length;
+  }
+
+  private static int compare(byte[] a, byte[] b) {
+    return Arrays.compareUnsigned(a, b);
+  }
+
+  private byte[] key(long page, int slot) {
+    ByteBuffer buffer = region(page);
+    int entry = offset(page) + buffer.getShort(offset(page) + NODE_SLOTS + 2 * slot);
+    byte[] key = new byte[buffer.getShort(entry)];
+    for (int i = 0; i < key.length; i++) {
+      key[i] = buffer.get(entry + 2 + i);
+    }
+    return key;
+  }
+
+  /**
+   * Gets the position of the value of a page entry, right after its key. A
+   * leaf value holds the first block and point count of the coordinates and
+   * the metadata; an internal value holds the child page.
+   */
+  private int valueAt(long page, int slot) {
+    ByteBuffer buffer = region(page);
+    int entry = offset(page) + buffer.getShort(offset(page) + NODE_SLOTS + 2 * slot);
+    return entry + 2 + buffer.getShort(entry);
+  }
+
+  /**
+   * Copies the coordinates of a leaf entry out of its blocks.
+   */
+  private int[] readValue(long page, int slot) {
+    ByteBuffer buffer = region(page);
+    int valueAt = valueAt(page, slot);
+    int[] coordinates = new int[2 * buffer.getInt(valueAt + 8)];
+    readCoordinates(buffer.getLong(valueAt) * BLOCK_SIZE, coordinates);
+    return coordinates;
+  }
+
+  /**
+   * Fills an array with the coordinates stored from a file position on,
+   * across region boundaries.
+   */
+  private void readCoordinates(long position, int[] coordinates) {
+    int done = 0;
+    while (done < coordinates.length) {
+      ByteBuffer source = regions.get((int) (position / REGION_BYTES)).duplicate();
+      source.position((int) (position % REGION_BYTES));
+      int count = Math.min(coordinates.length - done, source.remaining() / 4);
+      source.asIntBuffer().get(coordinates, done, count);
+      done += count;
+      position += 4L * count;
+    }
+  }
+
+  private byte[] readMetadata(long page, int slot) {
+    ByteBuffer buffer = region(page);
+    int valueAt = valueAt(page, slot);
+    byte[] metadata = new byte[buffer.getShort(valueAt + 12)];
+    for (int i = 0; i < metadata.length; i++) {
+      metadata[i] = buffer.get(valueAt + LEAF_VALUE_BYTES + i);
+    }
+    return metadata;
+  }
+
+  private Node readNode(long page) {
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    Node node = new Node(buffer.get(base + NODE_TYPE) == LEAF);
+    node.link = buffer.getLong(base + NODE_LINK);
+    int count = buffer.getShort(base + NODE_COUNT);
+    for (int slot = 0; slot < count; slot++) {
+      node.keys.add(key(page, slot));
+      int valueAt = valueAt(page, slot);
+      node.refs.add(buffer.getLong(valueAt));
+      if (node.leaf) {
+        node.counts.add(buffer.getInt(valueAt + 8));
+        node.metas.add(readMetadata(page, slot));
+      }
+    }
+    return node;
+  }
+
+  /**
+   * Writes a node to a page that no committed tree references.
+   */
+  private void writeNode(long page, Node node) {
+    ByteBuffer buffer = region(page);
+    int base = offset(page);
+    buffer.put(base + NODE_TYPE, node.leaf ? LEAF : INTERNAL);
+    buffer.putShort(base + NODE_COUNT, (short) node.keys.size());
+    buffer.putLong(base + NODE_LINK, node.link);
+    int entry = NODE_SLOTS + 2 * node.keys.size();
+    for (int slot = 0; slot < node.keys.size(); slot++) {
+      byte[] key = node.keys.get(slot);
+      buffer.putShort(base + NODE_SLOTS + 2 * slot, (short) entry);
+      buffer.putShort(base + entry, (short) key.length);
+      for (int i = 0; i < key.length; i++) {
+        buffer.put(base + entry + 2 + i, key[i]);
+      }
+      entry += 2 + key.length;
+      buffer.putLong(base + entry, node.refs.get(slot));
+      if (node.leaf) {
+        byte[] metadata = node.metas.get(slot);
+        buffer.putInt(base + entry + 8, node.counts.get(slot));
+        buffer.putShort(base + entry + 12, (short) metadata.length);
+        for (int i = 0; i < metadata.length; i++) {
+          buffer.put(base + entry + LEAF_VALUE_BYTES + i, metadata[i]);
+        }
+        entry += LEAF_VALUE_BYTES + metadata.length;
+      } else {
+        entry += CHILD_BYTES;
+      }
+    }
+    written.add(new long[] { page, 1 });
+  }
+
+  /**
+   * Writes a value to newly allocated blocks.
+   *
+   * @return the first block, or 0 for a value without points
+   */
+  private long writeValue(int[] coordinates) {
+    if (coordinates.length == 0) {
+      return 0;
+    }
+    long blocks = blocksOf(coordinates.length / 2);
+    long first = allocateBlocks(blocks);
+    long position = first * BLOCK_SIZE;
+    int done = 0;
+    while (done < coordinates.length) {
+      ByteBuffer buffer = regions.get((int) (position / REGION_BYTES)).duplicate();
+      buffer.position((int) (position % REGION_BYTES));
+      int count = Math.min(coordinates.length - done, buffer.remaining() / 4);
+      buffer.asIntBuffer().put(coordinates, done, count);
+      done += count;
+      position += 4L * count;
+    }
+    long firstPage = first / BLOCKS_PER_PAGE;
+    written.add(new long[] { firstPage, (first + blocks - 1) / BLOCKS_PER_PAGE - firstPage + 1 });
+    return first;
+  }
+
+  private static long blocksOf(int points) {
+    return (8L * points + BLOCK_SIZE - 1) / BLOCK_SIZE;
+  }
+
+  /**
+   * Takes a run of consecutive blocks from the smallest free run that holds
+   * it, or from new pages whose unused tail becomes free.
+   */
+  private long allocateBlocks(long blocks) {
+    return take(blocks, false);
+  }
+
+  /**
+   * Takes a run of consecutive whole pages, from the smallest free run that
+   * holds it or by growing the file.
+   */
+  private long allocate(long pages) {
+    return take(pages * BLOCKS_PER_PAGE, true) / BLOCKS_PER_PAGE;
+  }
+
+  /**
+   * Takes a run of blocks, page-aligned if asked. Any free run at least a
+   * page longer than needed holds an aligned one, so the search looks past
+   * runs whose alignment leaves them short only for sizes below that.
+   */
+  private long take(long blocks, boolean aligned) {
+    for (Map.Entry<Long, TreeSet<Long>> size : freeRunsBySize.tailMap(blocks).entrySet()) {
+      long length = size.getKey();
+      for (long first : size.getValue()) {
+        long start = aligned ? (first + BLOCKS_PER_PAGE - 1) / BLOCKS_PER_PAGE * BLOCKS_PER_PAGE : first;
+        if (start + blocks <= first + length) {
+          removeRun(first, length);
+          addRun(first, start - first);
+          addRun(start + blocks, first + length - start - blocks);
+          return start;
+        }
+      }
+    }
+    long first = pageCount * BLOCKS_PER_PAGE;
+    long pages = (blocks + BLOCKS_PER_PAGE - 1) / BLOCKS_PER_PAGE;
+    pageCount += pages;
+    mapRegions();
+    addRun(first + blocks, pages * BLOCKS_PER_PAGE - blocks);
+    return first;
+  }
+
+  private void release(long page, long pages) {
+    releaseBlocks(page * BLOCKS_PER_PAGE, pages * BLOCKS_PER_PAGE);
+  }
+
+  /**
+   * Frees a run of blocks, merging it with the free runs right before and
+   * after it, so freed values and pages add up to runs long enough for
+   * larger values.
+   */
+  private void releaseBlocks(long first, long blocks) {
+    if (blocks == 0) {
+      return;
+    }
+    long end = first + blocks;
+    Map.Entry<Long, Long> before = freeRuns.floorEntry(first);
+    if (before != null && before.getKey() + before.getValue() == first) {
+      removeRun(before.getKey(), before.getValue());
+      first = before.getKey();
+    }
+    Long after = freeRuns.get(end);
+    if (after != null) {
+      removeRun(end, after);
+      end += after;
+    }
+    addRun(first, end - first);
+  }
+
+  private void addRun(long first, long blocks) {
+    if (blocks > 0) {
+      freeRuns.put(first, blocks);
+      freeRunsBySize.computeIfAbsent(blocks, b -> new TreeSet<>()).add(first);
+      freeBlocks += blocks;
+    }
+  }
+
+  private void removeRun(long first, long blocks) {
+    freeRuns.remove(first);
+    TreeSet<Long> starts = freeRunsBySize.get(blocks);
+    starts.remove(first);
+    if (starts.isEmpty()) {
+      freeRunsBySize.remove(blocks);
+    }
+    freeBlocks -= blocks;
+  }
+
+  /**
+   * Marks every page and block reachable from the committed root and
+   * registers the unmarked runs as free.
+   */
+  private void rebuildFreeRuns() {
+    long end = pageCount * BLOCKS_PER_PAGE;
+    Bitmap used = new Bitmap(end);
+    used.set(0, BLOCKS_PER_PAGE);
+    ArrayDeque<Long> pending = new ArrayDeque<>();
+    pending.push(current.root);
+    while (!pending.isEmpty()) {
+      long page = pending.pop();
+      used.set(page * BLOCKS_PER_PAGE, (page + 1) * BLOCKS_PER_PAGE);
+      Node node = readNode(page);
+      if (!node.leaf) {
+        pending.push(node.link);
+        pending.addAll(node.refs);
+        continue;
+      }
+      for (int slot = 0; slot < node.refs.size(); slot++) {
+        long first = node.refs.get(slot);
+        used.set(first, first + blocksOf(node.counts.get(slot)));
+      }
+    }
+    long first = used.nextClearBit(0);
+    while (first < end) {
+      long next = used.nextSetBit(first);
+      next = next < 0 ? end : next;
+      releaseBlocks(first, next - first);
+      first = used.nextClearBit(next);
+    }
+  }
+
+  private MappedByteBuffer region(long page) {
+    return regions.get((int) (page / REGION_PAGES));
+  }
+
+  private static int offset(long page) {
+    return (int) (page % REGION_PAGES) * PAGE_SIZE;
+  }
+
+  private void mapRegions() {
+    while ((long) regions.size() * REGION_PAGES < pageCount) {
+      mapRegion(regions.size());
+      grown = true;
+    }
+  }
+
+  private void mapRegion(int index) {
+    try {
+      regions.add(channel.map(FileChannel.MapMode.READ_WRITE, index * REGION_BYTES, REGION_BYTES));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to map B+tree region " + index, ex);
+    }
+  }
+
+  /**
+   * Receives the entries visited by a scan.
+   */
+  private interface EntryVisitor {
+
+    void visit(long page, int slot, byte[] key);
+  }
+
+  /**
+   * Reader over the coordinates of one value in a committed tree. Holds the
+   * tree as a reader until closed.
+   */
+  public final class ValueReader implements Closeable {
+
+    private final Snapshot snapshot;
+    private final long firstBlock;
+    private final int points;
+    private boolean closed;
+
+    private ValueReader(Snapshot snapshot, long firstBlock, int points) {
+      this.snapshot = snapshot;
+      this.firstBlock = firstBlock;
+      this.points = points;
+    }
+
+    /**
+     * Gets the number of points of the value.
+     *
+     * @return the point count
+     */
+    public int size() {
+      return points;
+    }
+
+    /**
+     * Reads the coordinates of a range of points.
+     *
+     * @param offset the index of the first point
+     * @param count  the maximum number of points
+     * @return the x, y coordinates of the points in the range, clipped to the
+     *         end of the value
+     */
+    public int[] read(int offset, int count) {
+      int from = Math.min(offset, points);
+      int[] coordinates = new int[2 * (int) Math.min(count, (long) points - from)];
+      readCoordinates(firstBlock * BLOCK_SIZE + 8L * from, coordinates);
+      return coordinates;
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!closed) {
+        closed = true;
+        exit(snapshot);
+      }
+    }
+  }
+
+  /**
+   * Committed tree: its generation, root page, number of pages and number of
+   * keys.
+   */
+  private static final class Snapshot {
+
+    private final long generation;
+    private final long root;
+    private final long pageCount;
+    private final long size;
+
+    private Snapshot(long generation, long root, long pageCount, long size) {
+      this.generation = generation;
+      this.root = root;
+      this.pageCount = pageCount;
+      this.size = size;
+    }
+  }
+
+  /**
+   * Pages and block runs replaced by the write that committed a generation.
+   * Readers of older generations may still visit them.
+   */
+  private static final class Retired {
+
+    private final long generation;
+    private final List<Long> pages = new ArrayList<>();
+    private final List<long[]> blocks = new ArrayList<>();
+
+    private Retired(long generation) {
+      this.generation = generation;
+    }
+  }
+
+  /**
+   * Fixed-size bitmap indexed by long, so files with more blocks than an int
+   * can count are still marked in one pass.
+   */
+  private static final class Bitmap {
+
+    private final long[] words;
+    private final long size;
+
+    private Bitmap(long size) {
+      this.size = size;
+      this.words = new long[(int) ((size + 63) >>> 6)];
+    }
+
+    private void set(long from, long to) {
+      while (from < to) {
+        int bit = (int) (from & 63);
+        int bits = (int) Math.min(64 - bit, to - from);
+        words[(int) (from >>> 6)] |= bits == 64 ? -1L : ((1L << bits) - 1) << bit;
+        from += bits;
+      }
+    }
+
+    /**
+     * Gets the first set bit from an index on, or -1 if none.
+     */
+    private long nextSetBit(long from) {
+      if (from >= size) {
+        return -1;
+      }
+      int word = (int) (from >>> 6);
+      long bits = words[word] & (-1L << from);
+      while (bits == 0) {
+        if (++word == words.length) {
+          return -1;
+        }
+        bits = words[word];
+      }
+      long index = ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+      return index < size ? index : -1;
+    }
+
+    /**
+     * Gets the first clear bit from an index on, or the size if none.
+     */
+    private long nextClearBit(long from) {
+      if (from >= size) {
+        return size;
+      }
+      int word = (int) (from >>> 6);
+      long bits = ~words[word] & (-1L << from);
+      while (bits == 0) {
+        if (++word == words.length) {
+          return size;
+        }
+        bits = ~words[word];
+      }
+      return Math.min(size, ((long) word << 6) + Long.numberOfTrailingZeros(bits));
+    }
+  }
+
+  /**
+   * Decoded page, edited in memory and written back whole to a new page.
+   * Leaves hold the first block, point count and metadata of every value;
+   * internal nodes link to their leftmost child and hold the child right of
+   * every separator.
+   */
+  private static final class Node {
+
+    private final boolean leaf;
+    private final List<byte[]> keys = new ArrayList<>();
+    private final List<Long> refs = new ArrayList<>();
+    private final List<Integer> counts = new ArrayList<>();
+    private final List<byte[]> metas = new ArrayList<>();
+    private long link;
+
+    private Node(boolean leaf) {
+      this.leaf = leaf;
+    }
+
+    private int search(byte[] key) {
+      int low = 0;
+      int high = keys.size() - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        int comparison = compare(keys.get(middle), key);
+        if (comparison < 0) {
+          low = middle + 1;
+        } else if (comparison > 0) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -low - 1;
+    }
+
+    /**
+     * Gets the index of the child covering a key in an internal node.
+     */
+    private int childIndex(byte[] key) {
+      int index = search(key);
+      return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private void setChild(int index, long page) {
+      if (index == 0) {
+        link = page;
+      } else {
+        refs.set(index - 1, page);
+      }
+    }
+
+    private int entryBytes(int slot) {
+      return 2 + 2 + keys.get(slot).length + (leaf ? LEAF_VALUE_BYTES + metas.get(slot).length : CHILD_BYTES);
+    }
+
+    private int bytes() {
+      int bytes = NODE_SLOTS;
+      for (int slot = 0; slot < keys.size(); slot++) {
+        bytes += entryBytes(slot);
+      }
+      return bytes;
+    }
+
+    /**
+     * Chooses the first entry of the right half so both halves hold about
+     * the same number of bytes. Internal splits keep at least one key on
+     * each side of the separator moving up.
+     */
+    private int splitPoint() {
+      int half = bytes() / 2;
+      int bytes = NODE_SLOTS;
+      int slot = 0;
+      while (slot < keys.size() - 1 && bytes + entryBytes(slot) <= half) {
+        bytes += entryBytes(slot++);
+      }
+      int max = leaf ? keys.size() - 1 : keys.size() - 2;
+      return Math.max(1, Math.min(slot, max));
+    }
+
+    /**
+     * Moves the entries from a split point on to a new right node. In an
+     * internal node the separator at the split point moves up, and its child
+     * becomes the leftmost child of the right node.
+     */
+    private Node split(int splitAt) {
+      Node right = new Node(leaf);
+      if (leaf) {
+        right.keys.addAll(keys.subList(splitAt, keys.size()));
+        right.refs.addAll(refs.subList(splitAt, refs.size()));
+        right.counts.addAll(counts.subList(splitAt, counts.size()));
+        right.metas.addAll(metas.subList(splitAt, metas.size()));
+        counts.subList(splitAt, counts.size()).clear();
+        metas.subList(splitAt, metas.size()).clear();
+      } else {
+        right.link = refs.get(splitAt);
+        right.keys.addAll(keys.subList(splitAt + 1, keys.size()));
+        right.refs.addAll(refs.subList(splitAt + 1, refs.size()));
+      }
+      keys.subList(splitAt, keys.size()).clear();
+      refs.subList(splitAt, refs.size()).clear();
+      return right;
+    }
+  }
+}
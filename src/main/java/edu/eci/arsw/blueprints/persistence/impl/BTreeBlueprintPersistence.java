@@ -0,0 +1,463 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
+import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPointsReader;
+import edu.eci.arsw.blueprints.persistence.BlueprintsPersistence;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * On-disk implementation of the BlueprintsPersistence interface backed by a
+ * memory-mapped {@link BPlusTree}, for catalogs bigger than the heap.
+ * Blueprints are keyed by author and name, so the blueprints of an author are
+ * adjacent in the tree and listing them is a single range scan over the
+ * author prefix instead of a scan of the whole catalog.
+ *
+ * Every write is durable when it returns. Reads take no lock: they see the
+ * tree committed when they started, while writes take a lock and run one at
+ * a time. As in {@link TieredBlueprintPersistence}, the name search index,
+ * the shape index and the geometric metrics stay resident. The metrics and
+ * shape descriptor of every blueprint are stored as the metadata of its
+ * entry, so startup rebuilds the indexes from the keys and metadata alone,
+ * without decoding any point. A blueprint starts its revision history, as
+ * version 1, the first time it is changed or its history is read. Active
+ * with the {@code btree} Spring profile.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-04
+ */
+public class BTreeBlueprintPersistence implements BlueprintsPersistence {
+
+  private static final int ESCAPE = 0x01;
+  private static final int SEPARATOR = 0x00;
+
+  private final BPlusTree tree;
+  private final Lock writeLock = new ReentrantLock();
+
+  private final BlueprintNameIndex nameIndex = new BlueprintNameIndex();
+  private final BlueprintMetricsIndex metricsIndex = new BlueprintMetricsIndex();
+  private final ShapeIndex shapeIndex = new ShapeIndex();
+  private final RevisionHistory history = new RevisionHistory(RevisionHistory.DEFAULT_LIMIT);
+
+  /**
+   * Constructs a BTreeBlueprintPersistence over the given file. Blueprints
+   * already present in the file are registered in the indexes.
+   *
+   * @param file the B+tree file, created if it does not exist
+   */
+  public BTreeBlueprintPersistence(Path file) {
+    this.tree = new BPlusTree(file);
+    tree.scanMetadata(null, null, (key, metadata) -> {
+      String[] parts = decodeKey(key);
+      nameIndex.add(parts[0], parts[1]);
+      BlueprintMetadata.decode(metadata).index(parts[0], parts[1], metricsIndex, shapeIndex);
+    });
+  }
+
+  /**
+   * Sets the number of versions kept per blueprint.
+   *
+   * @param historyLimit the number of versions kept per blueprint
+   */
+  @Value("${blueprints.persistence.history-limit:" + RevisionHistory.DEFAULT_LIMIT + "}")
+  public void setHistoryLimit(int historyLimit) {
+    history.setLimit(historyLimit);
+  }
+
+  /**
+   * Sets the budget of the point chunks kept by the revision history.
+   *
+   * @param historyBytes the budget in bytes
+   */
+  @Value("${blueprints.persistence.history-bytes:" + RevisionHistory.DEFAULT_MAX_BYTES + "}")
+  public void setHistoryBytes(long historyBytes) {
+    history.setMaxBytes(historyBytes);
+  }
+
+  /**
+   * Registers the size of the tree file in the given registry.
+   *
+   * @param registry the meter registry provided by Spring Boot Actuator
+   */
+  @Autowired(required = false)
+  public void setMeterRegistry(MeterRegistry registry) {
+    Gauge.builder("blueprints.btree.entries", this, BTreeBlueprintPersistence::getEntryCount).register(registry);
+    Gauge.builder("blueprints.btree.pages", this, BTreeBlueprintPersistence::getPageCount).tag("state", "total")
+        .register(registry);
+    Gauge.builder("blueprints.btree.pages", this, BTreeBlueprintPersistence::getFreePages).tag("state", "free")
+        .register(registry);
+  }
+
+  @Override
+  public void saveBlueprint(Blueprint blueprint) throws BlueprintPersistenceException {
+    byte[] key = keyOf(blueprint.getAuthor(), blueprint.getName());
+    if (key.length > BPlusTree.MAX_KEY_BYTES) {
+      throw new BlueprintPersistenceException("Blueprint author and name are too long: " + blueprint.getAuthor()
+          + "/" + blueprint.getName());
+    }
+    writeLock.lock();
+    try {
+      if (tree.containsKey(key)) {
+        throw new BlueprintPersistenceException(
+            "The given blueprint already exists: " + blueprint.getAuthor() + "/" + blueprint.getName());
+      }
+      store(key, blueprint.getAuthor(), blueprint.getName(), pack(blueprint.getPoints()), blueprint.getPoints(),
+          BlueprintMetrics.of(blueprint.getPoints()));
+      nameIndex.add(blueprint.getAuthor(), blueprint.getName());
+      history.record(blueprint.getAuthor(), blueprint.getName(), blueprint.getPoints());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Blueprint getBlueprint(String author, String blueprintName) throws BlueprintNotFoundException {
+    int[] coordinates = tree.get(keyOf(author, blueprintName));
+    if (coordinates == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return new Blueprint(author, blueprintName, new ContentAddressedPointStore.PackedPointList(coordinates));
+  }
+
+  @Override
+  public Set<Blueprint> getAllBlueprints() {
+    return scan(null, null);
+  }
+
+  @Override
+  public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+    byte[] from = authorPrefix(author);
+    byte[] to = from.clone();
+    to[to.length - 1] = SEPARATOR + 1;
+    Set<Blueprint> authorBlueprints = scan(from, to);
+    if (authorBlueprints.isEmpty()) {
+      throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+    }
+    return authorBlueprints;
+  }
+
+  @Override
+  public void updateBlueprint(Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
+    byte[] key = keyOf(blueprint.getAuthor(), blueprint.getName());
+    writeLock.lock();
+    try {
+      if (!tree.containsKey(key)) {
+        throw new BlueprintNotFoundException(
+            "Blueprint not found: " + blueprint.getAuthor() + "/" + blueprint.getName());
+      }
+      startHistory(blueprint.getAuthor(), blueprint.getName());
+      store(key, blueprint.getAuthor(), blueprint.getName(), pack(blueprint.getPoints()), blueprint.getPoints(),
+          BlueprintMetrics.of(blueprint.getPoints()));
+      history.record(blueprint.getAuthor(), blueprint.getName(), blueprint.getPoints());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public List<BlueprintSummary> searchBlueprints(String query, int limit) {
+    return nameIndex.search(query, limit);
+  }
+
+  @Override
+  public void appendPoints(String author, String blueprintName, List<Point> points)
+      throws BlueprintNotFoundException, BlueprintPersistenceException {
+    byte[] key = keyOf(author, blueprintName);
+    writeLock.lock();
+    try {
+      int[] current = tree.get(key);
+      if (current == null) {
+        throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+      }
+      startHistory(author, blueprintName);
+      int[] extended = new int[current.length + 2 * points.size()];
+      System.arraycopy(current, 0, extended, 0, current.length);
+      for (int i = 0; i < points.size(); i++) {
+        extended[current.length + 2 * i] = points.get(i).getX();
+        extended[current.length + 2 * i + 1] = points.get(i).getY();
+      }
+      List<Point> extendedPoints = new ContentAddressedPointStore.PackedPointList(extended);
+      store(key, author, blueprintName, extended, extendedPoints,
+          metricsIndex.get(author, blueprintName).append(points));
+      history.recordAppend(author, blueprintName, extendedPoints, points);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public BlueprintMetrics getBlueprintMetrics(String author, String blueprintName) throws BlueprintNotFoundException {
+    BlueprintMetrics metrics = metricsIndex.get(author, blueprintName);
+    if (metrics == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return metrics;
+  }
+
+  @Override
+  public AuthorMetrics getAuthorMetrics(String author) throws BlueprintNotFoundException {
+    AuthorMetrics metrics = metricsIndex.getAuthor(author);
+    if (metrics == null) {
+      throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+    }
+    return metrics;
+  }
+
+  @Override
+  public Blueprint getBlueprint(String author, String blueprintName, long version)
+      throws BlueprintNotFoundException {
+    ensureHistory(author, blueprintName);
+    List<Point> points = history.getPoints(author, blueprintName, version);
+    if (points == null) {
+      throw new BlueprintNotFoundException("Blueprint version not found: " + author + "/" + blueprintName
+          + " version " + version);
+    }
+    return new Blueprint(author, blueprintName, points);
+  }
+
+  @Override
+  public long getBlueprintVersion(String author, String blueprintName) throws BlueprintNotFoundException {
+    if (metricsIndex.get(author, blueprintName) == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return history.getVersion(author, blueprintName);
+  }
+
+  @Override
+  public List<BlueprintRevision> getBlueprintHistory(String author, String blueprintName)
+      throws BlueprintNotFoundException {
+    ensureHistory(author, blueprintName);
+    List<BlueprintRevision> revisions = history.getRevisions(author, blueprintName);
+    if (revisions.isEmpty()) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return revisions;
+  }
+
+  @Override
+  public BlueprintDelta getBlueprintDelta(String author, String blueprintName, long fromVersion, long toVersion)
+      throws BlueprintNotFoundException {
+    ensureHistory(author, blueprintName);
+    BlueprintDelta delta = history.delta(author, blueprintName, fromVersion, toVersion);
+    if (delta == null) {
+      throw new BlueprintNotFoundException("Blueprint version not found: " + author + "/" + blueprintName
+          + " versions " + fromVersion + " to " + toVersion);
+    }
+    return delta;
+  }
+
+  @Override
+  public List<SimilarBlueprint> findSimilarBlueprints(String author, String blueprintName, int k)
+      throws BlueprintNotFoundException {
+    if (metricsIndex.get(author, blueprintName) == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return shapeIndex.similar(author, blueprintName, k);
+  }
+
+  @Override
+  public BlueprintPointsReader openBlueprintPoints(String author, String blueprintName)
+      throws BlueprintNotFoundException {
+    BPlusTree.ValueReader value = tree.openValue(keyOf(author, blueprintName));
+    if (value == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return new TreePointsReader(value);
+  }
+
+  /**
+   * Closes the tree file. Every write is already on disk.
+   */
+  @PreDestroy
+  public void close() {
+    writeLock.lock();
+    try {
+      tree.close();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of stored blueprints.
+   *
+   * @return the number of entries of the tree
+   */
+  public long getEntryCount() {
+    return tree.size();
+  }
+
+  /**
+   * Gets the number of pages of the tree file.
+   *
+   * @return the number of pages
+   */
+  public long getPageCount() {
+    return tree.getPageCount();
+  }
+
+  /**
+   * Gets the number of pages of the tree file available for reuse.
+   *
+   * @return the number of free pages
+   */
+  public long getFreePages() {
+    return tree.getFreePages();
+  }
+
+  private Set<Blueprint> scan(byte[] from, byte[] to) {
+    Set<Blueprint> result = new HashSet<>();
+    tree.scan(from, to, (key, coordinates) -> {
+      String[] parts = decodeKey(key);
+      result.add(new Blueprint(parts[0], parts[1], new ContentAddressedPointStore.PackedPointList(coordinates)));
+    });
+    return result;
+  }
+
+  /**
+   * Writes the points of a blueprint with its metrics and shape descriptor
+   * as metadata, then updates the resident indexes. The descriptor is built
+   * once for both.
+   */
+  private void store(byte[] key, String author, String blueprintName, int[] coordinates, List<Point> points,
+      BlueprintMetrics metrics) {
+    BlueprintMetadata metadata = BlueprintMetadata.of(metrics, points);
+    tree.put(key, coordinates, metadata.encode());
+    metadata.index(author, blueprintName, metricsIndex, shapeIndex);
+  }
+
+  /**
+   * Records the current content of an existing blueprint as its current
+   * revision, unless it already has a history.
+   */
+  private void ensureHistory(String author, String blueprintName) {
+    if (history.contains(author, blueprintName)) {
+      return;
+    }
+    writeLock.lock();
+    try {
+      startHistory(author, blueprintName);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void startHistory(String author, String blueprintName) {
+    if (!history.contains(author, blueprintName)) {
+      int[] current = tree.get(keyOf(author, blueprintName));
+      if (current != null) {
+        history.start(author, blueprintName, new ContentAddressedPointStore.PackedPointList(current));
+      }
+    }
+  }
+
+  private static int[] pack(List<Point> points) {
+    if (points == null) {
+      return new int[0];
+    }
+    int[] coordinates = new int[2 * points.size()];
+    for (int i = 0; i < points.size(); i++) {
+      coordinates[2 * i] = points.get(i).getX();
+      coordinates[2 * i + 1] = points.get(i).getY();
+    }
+    return coordinates;
+  }
+
+  /**
+   * Encodes a key as the escaped author, a zero byte and the escaped name.
+   * Escaping zero and one bytes keeps the byte order of the authors and
+   * makes every author prefix end at its separator.
+   */
+  private static byte[] keyOf(String author, String blueprintName) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.writeBytes(authorPrefix(author));
+    escape(blueprintName, out);
+    return out.toByteArray();
+  }
+
+  private static byte[] authorPrefix(String author) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    escape(author, out);
+    out.write(SEPARATOR);
+    return out.toByteArray();
+  }
+
+  private static void escape(String text, ByteArrayOutputStream out) {
+    for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+      if (b == SEPARATOR || b == ESCAPE) {
+        out.write(ESCAPE);
+        out.write(b + 1);
+      } else {
+        out.write(b);
+      }
+    }
+  }
+
+  private static String[] decodeKey(byte[] key) {
+    String[] parts = new String[2];
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int part = 0;
+    for (int i = 0; i < key.length; i++) {
+      if (key[i] == ESCAPE) {
+        out.write(key[++i] - 1);
+      } else if (key[i] == SEPARATOR && part == 0) {
+        parts[part++] = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        out.reset();
+      } else {
+        out.write(key[i]);
+      }
+    }
+    parts[part] = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    return parts;
+  }
+
+  /**
+   * Points reader over a value of the tree, which stays readable until the
+   * reader is closed.
+   */
+  private static final class TreePointsReader implements BlueprintPointsReader {
+
+    private final BPlusTree.ValueReader value;
+
+    private TreePointsReader(BPlusTree.ValueReader value) {
+      this.value = value;
+    }
+
+    @Override
+    public int size() {
+      return value.size();
+    }
+
+    @Override
+    public List<Point> read(int offset, int count) {
+      return new ContentAddressedPointStore.PackedPointList(value.read(offset, count));
+    }
+
+    @Override
+    public void close() {
+      value.close();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * What the resident indexes derive from the points of a blueprint: its
+ * geometric metrics and its shape descriptor. Persistences store it next to
+ * the points, so opening them restores the indexes without reading any
+ * point.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-04
+ */
+final class BlueprintMetadata {
+
+  private final BlueprintMetrics metrics;
+  private final byte[] descriptor;
+
+  private BlueprintMetadata(BlueprintMetrics metrics, byte[] descriptor) {
+    this.metrics = metrics;
+    this.descriptor = descriptor;
+  }
+
+  /**
+   * Builds the metadata of some points whose metrics are already known,
+   * describing their shape once.
+   */
+  static BlueprintMetadata of(BlueprintMetrics metrics, List<Point> points) {
+    return new BlueprintMetadata(metrics, ShapeIndex.describe(points));
+  }
+
+  /**
+   * Decodes metadata written by {@link #encode()}.
+   */
+  static BlueprintMetadata decode(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    BlueprintMetrics metrics = BlueprintMetrics.readFrom(buffer);
+    byte[] descriptor = null;
+    if (buffer.hasRemaining()) {
+      descriptor = new byte[buffer.remaining()];
+      buffer.get(descriptor);
+    }
+    return new BlueprintMetadata(metrics, descriptor);
+  }
+
+  /**
+   * Encodes the metrics followed by the descriptor, if the shape has one.
+   */
+  byte[] encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(BlueprintMetrics.BYTES + (descriptor == null ? 0 : descriptor.length));
+    metrics.writeTo(buffer);
+    if (descriptor != null) {
+      buffer.put(descriptor);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Registers the metrics and shape of a blueprint in the resident indexes.
+   */
+  void index(String author, String name, BlueprintMetricsIndex metricsIndex, ShapeIndex shapeIndex) {
+    metricsIndex.put(author, name, metrics);
+    shapeIndex.putDescriptor(author, name, descriptor);
+  }
+}
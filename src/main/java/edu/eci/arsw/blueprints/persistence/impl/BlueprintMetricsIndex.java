@@ -0,0 +1,61 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the geometric metrics of every stored blueprint and the aggregates of
+ * every author, so both can be read in O(1).
+ * Writers are serialized so the per-author aggregates always match the
+ * per-blueprint metrics; readers never block.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-23
+ */
+public class BlueprintMetricsIndex {
+
+  private final Map<Tuple<String, String>, BlueprintMetrics> blueprintMetrics = new ConcurrentHashMap<>();
+  private final Map<String, AuthorMetrics> authorMetrics = new ConcurrentHashMap<>();
+
+  /**
+   * Stores the metrics of a blueprint, replacing its previous metrics in the
+   * author aggregate if there were any.
+   *
+   * @param author  the blueprint's author
+   * @param name    the blueprint's name
+   * @param metrics the new metrics of the blueprint
+   */
+  public synchronized void put(String author, String name, BlueprintMetrics metrics) {
+    BlueprintMetrics previous = blueprintMetrics.put(new Tuple<>(author, name), metrics);
+    AuthorMetrics aggregate = authorMetrics.getOrDefault(author, new AuthorMetrics(author));
+    if (previous != null) {
+      aggregate = aggregate.minus(previous);
+    }
+    authorMetrics.put(author, aggregate.plus(metrics));
+  }
+
+  /**
+   * Gets the metrics of a blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the metrics, or null if the blueprint is unknown
+   */
+  public BlueprintMetrics get(String author, String name) {
+    return blueprintMetrics.get(new Tuple<>(author, name));
+  }
+
+  /**
+   * Gets the aggregated metrics of an author.
+   *
+   * @param author the author
+   * @return the aggregate, or null if the author has no blueprints
+   */
+  public AuthorMetrics getAuthor(String author) {
+    return authorMetrics.get(author);
+  }
+}
@@ -0,0 +1,154 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Concurrent search index over blueprint authors and names.
+ * Every author and name is stored lower-cased as a term in a sorted skip list,
+ * which answers prefix queries with a range scan, and is also split into
+ * trigrams, which narrow substring queries down to the terms sharing the
+ * rarest trigram of the query. Neither path scans the blueprint map.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-22
+ */
+public class BlueprintNameIndex {
+
+  private static final int GRAM = 3;
+  private static final int CANDIDATE_FACTOR = 4;
+
+  private static final int EXACT = 0;
+  private static final int PREFIX = 1;
+  private static final int SUBSTRING = 2;
+
+  private final NavigableMap<String, Set<Tuple<String, String>>> terms = new ConcurrentSkipListMap<>();
+  private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a blueprint to the index under both its author and its name.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   */
+  public void add(String author, String name) {
+    Tuple<String, String> entry = new Tuple<>(author, name);
+    addTerm(author.toLowerCase(Locale.ROOT), entry);
+    addTerm(name.toLowerCase(Locale.ROOT), entry);
+  }
+
+  /**
+   * Finds the blueprints whose author or name contains the query, ignoring case.
+   * Exact matches rank first, then prefix matches, then other substring
+   * matches; ties are broken by shorter and then alphabetically smaller terms.
+   *
+   * @param query the text typed by the user
+   * @param limit the maximum number of results
+   * @return the ranked matching blueprints
+   */
+  public List<BlueprintSummary> search(String query, int limit) {
+    String q = query.toLowerCase(Locale.ROOT);
+    if (q.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+    int budget = limit * CANDIDATE_FACTOR;
+    Map<Tuple<String, String>, Match> matches = new HashMap<>();
+
+    for (Map.Entry<String, Set<Tuple<String, String>>> term : terms.subMap(q, true, q + Character.MAX_VALUE, false)
+        .entrySet()) {
+      collect(matches, term.getKey(), term.getValue(), term.getKey().equals(q) ? EXACT : PREFIX, budget);
+      if (matches.size() >= budget) {
+        break;
+      }
+    }
+
+    if (q.length() >= GRAM && matches.size() < budget) {
+      for (String term : rarestPosting(q)) {
+        if (term.contains(q) && !term.startsWith(q)) {
+          Set<Tuple<String, String>> entries = terms.get(term);
+          if (entries != null) {
+            collect(matches, term, entries, SUBSTRING, budget);
+          }
+          if (matches.size() >= budget) {
+            break;
+          }
+        }
+      }
+    }
+
+    List<Match> ranked = new ArrayList<>(matches.values());
+    ranked.sort(Comparator.comparingInt((Match m) -> m.rank)
+        .thenComparingInt(m -> m.term.length())
+        .thenComparing(m -> m.term)
+        .thenComparing(m -> m.entry.getFirstElement())
+        .thenComparing(m -> m.entry.getSecondElement()));
+
+    List<BlueprintSummary> result = new ArrayList<>();
+    for (int i = 0; i < ranked.size() && i < limit; i++) {
+      Tuple<String, String> entry = ranked.get(i).entry;
+      result.add(new BlueprintSummary(entry.getFirstElement(), entry.getSecondElement()));
+    }
+    return result;
+  }
+
+  private void addTerm(String term, Tuple<String, String> entry) {
+    terms.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(entry);
+    for (int i = 0; i + GRAM <= term.length(); i++) {
+      trigrams.computeIfAbsent(term.substring(i, i + GRAM), g -> ConcurrentHashMap.newKeySet()).add(term);
+    }
+  }
+
+  private Set<String> rarestPosting(String q) {
+    Set<String> rarest = Set.of();
+    for (int i = 0; i + GRAM <= q.length(); i++) {
+      Set<String> posting = trigrams.get(q.substring(i, i + GRAM));
+      if (posting == null) {
+        return Set.of();
+      }
+      if (i == 0 || posting.size() < rarest.size()) {
+        rarest = posting;
+      }
+    }
+    return rarest;
+  }
+
+  private static void collect(Map<Tuple<String, String>, Match> matches, String term,
+      Set<Tuple<String, String>> entries, int rank, int budget) {
+    for (Tuple<String, String> entry : entries) {
+      if (matches.size() >= budget) {
+        return;
+      }
+      Match current = matches.get(entry);
+      if (current == null || rank < current.rank) {
+        matches.put(entry, new Match(entry, term, rank));
+      }
+    }
+  }
+
+  /**
+   * A candidate result together with the term that matched it.
+   */
+  private static final class Match {
+
+    private final Tuple<String, String> entry;
+    private final String term;
+    private final int rank;
+
+    private Match(Tuple<String, String> entry, String term, int rank) {
+      this.entry = entry;
+      this.term = term;
+      this.rank = rank;
+    }
+  }
+}
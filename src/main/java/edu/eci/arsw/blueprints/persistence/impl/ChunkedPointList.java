@@ -0,0 +1,178 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable point list split into fixed-size chunks, each one an immutable
+ * encoded buffer such as a packed int array or an off-heap block.
+ * A new version of a list is built from the previous one reusing every chunk
+ * whose content did not change, so stored blueprints and the revisions kept
+ * in a {@link RevisionHistory} share their unchanged chunks, and appending
+ * points only encodes the last partial chunk and the new ones.
+ *
+ * The digest of each chunk is computed at most once and carried over with
+ * the chunk to later versions, so a {@link ContentAddressedPointStore} only
+ * hashes the chunks that changed.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-30
+ */
+public final class ChunkedPointList extends AbstractList<Point> implements RandomAccess, PointCoordinates {
+
+  /**
+   * Number of points per chunk.
+   */
+  public static final int CHUNK_POINTS = 512;
+
+  private final List<List<Point>> chunks;
+  private final int size;
+  // Guarded by this; null until the digest of the chunk is first needed
+  private final byte[][] digests;
+
+  private ChunkedPointList(List<List<Point>> chunks, int size, byte[][] digests) {
+    this.chunks = Collections.unmodifiableList(chunks);
+    this.size = size;
+    this.digests = digests;
+  }
+
+  /**
+   * Builds a chunked list holding the given points. Every chunk equal to the
+   * chunk at the same position of the base list is reused; the others are
+   * built with the encoder.
+   *
+   * @param points  the points to hold
+   * @param base    the previous version of the list, or null
+   * @param encoder builds the immutable buffer of a new chunk
+   * @return the chunked list
+   */
+  public static ChunkedPointList of(List<Point> points, ChunkedPointList base, UnaryOperator<List<Point>> encoder) {
+    int size = points.size();
+    int count = (size + CHUNK_POINTS - 1) / CHUNK_POINTS;
+    List<List<Point>> chunks = new ArrayList<>(count);
+    byte[][] digests = new byte[count][];
+    for (int from = 0; from < size; from += CHUNK_POINTS) {
+      List<Point> content = points.subList(from, Math.min(from + CHUNK_POINTS, size));
+      int c = from / CHUNK_POINTS;
+      List<Point> shared = base != null && c < base.chunks.size() ? base.chunks.get(c) : null;
+      if (shared != null && shared.equals(content)) {
+        chunks.add(shared);
+        digests[c] = base.cachedDigest(c);
+      } else {
+        chunks.add(encoder.apply(content));
+      }
+    }
+    return new ChunkedPointList(chunks, size, digests);
+  }
+
+  /**
+   * Builds the list that results from appending points to a base list. The
+   * full chunks of the base are reused without comparing them; only its
+   * last partial chunk is encoded again, together with the appended points.
+   *
+   * @param base     the list the points are appended to
+   * @param appended the appended points
+   * @param encoder  builds the immutable buffer of a new chunk
+   * @return the extended chunked list
+   */
+  public static ChunkedPointList append(ChunkedPointList base, List<Point> appended,
+      UnaryOperator<List<Point>> encoder) {
+    int full = base.size / CHUNK_POINTS;
+    int size = base.size + appended.size();
+    List<List<Point>> chunks = new ArrayList<>(base.chunks.subList(0, full));
+    byte[][] digests = new byte[(size + CHUNK_POINTS - 1) / CHUNK_POINTS][];
+    for (int c = 0; c < full; c++) {
+      digests[c] = base.cachedDigest(c);
+    }
+    List<Point> tail = new ArrayList<>(base.subList(full * CHUNK_POINTS, base.size));
+    tail.addAll(appended);
+    for (int from = 0; from < tail.size(); from += CHUNK_POINTS) {
+      chunks.add(encoder.apply(tail.subList(from, Math.min(from + CHUNK_POINTS, tail.size()))));
+    }
+    return new ChunkedPointList(chunks, size, digests);
+  }
+
+  /**
+   * Gets the number of chunks.
+   *
+   * @return the chunk count
+   */
+  public int getChunkCount() {
+    return chunks.size();
+  }
+
+  /**
+   * Gets a chunk. Chunks shared by two lists are the same instance, so they
+   * can be skipped by identity when comparing versions.
+   *
+   * @param index the chunk index
+   * @return the immutable points of the chunk
+   */
+  public List<Point> getChunk(int index) {
+    return chunks.get(index);
+  }
+
+  /**
+   * Gets the digest of a chunk, computing it on first use.
+   */
+  synchronized byte[] getDigest(int index) {
+    if (digests[index] == null) {
+      digests[index] = ContentAddressedPointStore.digestOf(chunks.get(index));
+    }
+    return digests[index];
+  }
+
+  /**
+   * Records chunk digests already computed by the caller over the same
+   * points, so they are not computed again.
+   */
+  synchronized void setDigests(List<byte[]> computed) {
+    for (int c = 0; c < digests.length && c < computed.size(); c++) {
+      if (digests[c] == null) {
+        digests[c] = computed.get(c);
+      }
+    }
+  }
+
+  private synchronized byte[] cachedDigest(int index) {
+    return digests[index];
+  }
+
+  @Override
+  public Point get(int index) {
+    return chunks.get(checkIndex(index) / CHUNK_POINTS).get(index % CHUNK_POINTS);
+  }
+
+  @Override
+  public int getX(int index) {
+    List<Point> chunk = chunks.get(checkIndex(index) / CHUNK_POINTS);
+    return chunk instanceof PointCoordinates ? ((PointCoordinates) chunk).getX(index % CHUNK_POINTS)
+        : chunk.get(index % CHUNK_POINTS).getX();
+  }
+
+  @Override
+  public int getY(int index) {
+    List<Point> chunk = chunks.get(checkIndex(index) / CHUNK_POINTS);
+    return chunk instanceof PointCoordinates ? ((PointCoordinates) chunk).getY(index % CHUNK_POINTS)
+        : chunk.get(index % CHUNK_POINTS).getY();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index;
+  }
+}
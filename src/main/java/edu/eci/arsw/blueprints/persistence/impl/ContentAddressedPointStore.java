@@ -0,0 +1,231 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+
+/**
+ * Content-addressed storage for blueprint point data.
+ * The SHA-256 digest of the coordinates identifies each distinct point
+ * sequence, so blueprints with identical geometry (copies, templates) share a
+ * single immutable buffer. Entries are reference counted and dropped when the
+ * last blueprint using them is updated away; releases find their entry by
+ * buffer identity, so only acquiring hashes the points.
+ *
+ * The digest of a sequence is computed over the digests of its
+ * {@value ChunkedPointList#CHUNK_POINTS}-point chunks, which a
+ * {@link ChunkedPointList} keeps, so acquiring a new version of a chunked
+ * list only hashes the chunks it does not share with the previous one.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-24
+ */
+public class ContentAddressedPointStore {
+
+  private final Map<ByteBuffer, Entry> entries = new HashMap<>();
+  private final Map<List<Point>, Entry> byBuffer = new IdentityHashMap<>();
+
+  /**
+   * Returns the shared buffer holding the given points, creating it with the
+   * given encoder when no identical sequence is stored yet. Every call must be
+   * balanced by a call to {@link #release(List)} when the caller stops using
+   * the buffer.
+   *
+   * @param points  the points to store
+   * @param encoder builds the immutable buffer for a new sequence
+   * @return the shared immutable point list
+   */
+  public synchronized List<Point> acquire(List<Point> points, UnaryOperator<List<Point>> encoder) {
+    List<byte[]> chunkDigests = chunkDigests(points);
+    ByteBuffer digest = digest(chunkDigests);
+    Entry entry = entries.get(digest);
+    if (entry != null && entry.points.equals(points)) {
+      entry.references++;
+      return entry.points;
+    }
+    List<Point> shared = encoder.apply(points);
+    if (shared instanceof ChunkedPointList) {
+      ((ChunkedPointList) shared).setDigests(chunkDigests);
+    }
+    if (entry == null) {
+      entry = new Entry(digest, shared);
+      entries.put(digest, entry);
+      byBuffer.put(shared, entry);
+    }
+    // On a digest collision the new buffer is simply left unshared
+    return shared;
+  }
+
+  /**
+   * Releases one reference to a shared buffer previously returned by
+   * {@link #acquire(List, UnaryOperator)}.
+   *
+   * @param points the shared point list
+   */
+  public synchronized void release(List<Point> points) {
+    Entry entry = byBuffer.get(points);
+    if (entry != null && --entry.references == 0) {
+      entries.remove(entry.digest);
+      byBuffer.remove(points);
+    }
+  }
+
+  /**
+   * Gets the number of distinct point sequences currently stored.
+   *
+   * @return the number of shared buffers
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Packs points into an immutable int array, using 8 bytes per point instead
+   * of a reference plus a Point object.
+   *
+   * @param points the points to pack
+   * @return the packed point list
+   */
+  public static List<Point> pack(List<Point> points) {
+    int[] coordinates = new int[points.size() * 2];
+    for (int i = 0; i < points.size(); i++) {
+      Point point = points.get(i);
+      coordinates[2 * i] = point.getX();
+      coordinates[2 * i + 1] = point.getY();
+    }
+    return new PackedPointList(coordinates);
+  }
+
+  /**
+   * Computes the SHA-256 digest of the coordinates of one chunk.
+   */
+  static byte[] digestOf(List<Point> chunk) {
+    MessageDigest sha256 = sha256();
+    ByteBuffer buffer = ByteBuffer.allocate(8 * chunk.size());
+    if (chunk instanceof PointCoordinates) {
+      PointCoordinates coordinates = (PointCoordinates) chunk;
+      for (int i = 0; i < coordinates.size(); i++) {
+        buffer.putInt(coordinates.getX(i)).putInt(coordinates.getY(i));
+      }
+    } else {
+      for (Point point : chunk) {
+        buffer.putInt(point.getX()).putInt(point.getY());
+      }
+    }
+    buffer.flip();
+    sha256.update(buffer);
+    return sha256.digest();
+  }
+
+  /**
+   * Gets the digests of the chunks of a sequence, reusing the ones a chunked
+   * list already computed.
+   */
+  private static List<byte[]> chunkDigests(List<Point> points) {
+    List<byte[]> digests = new ArrayList<>();
+    if (points instanceof ChunkedPointList) {
+      ChunkedPointList chunked = (ChunkedPointList) points;
+      for (int c = 0; c < chunked.getChunkCount(); c++) {
+        digests.add(chunked.getDigest(c));
+      }
+      return digests;
+    }
+    for (int from = 0; from < points.size(); from += ChunkedPointList.CHUNK_POINTS) {
+      digests.add(digestOf(points.subList(from, Math.min(from + ChunkedPointList.CHUNK_POINTS, points.size()))));
+    }
+    return digests;
+  }
+
+  private static ByteBuffer digest(List<byte[]> chunkDigests) {
+    MessageDigest sha256 = sha256();
+    for (byte[] chunkDigest : chunkDigests) {
+      sha256.update(chunkDigest);
+    }
+    return ByteBuffer.wrap(sha256.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  /**
+   * A shared buffer, its digest and the number of blueprints using it.
+   */
+  private static final class Entry {
+
+    private final ByteBuffer digest;
+    private final List<Point> points;
+    private int references = 1;
+
+    private Entry(ByteBuffer digest, List<Point> points) {
+      this.digest = digest;
+      this.points = points;
+    }
+  }
+
+  /**
+   * Immutable list view over coordinates packed as consecutive x, y ints.
+   */
+  public static final class PackedPointList extends AbstractList<Point> implements RandomAccess, PointCoordinates {
+
+    private final int[] coordinates;
+
+    PackedPointList(int[] coordinates) {
+      this.coordinates = coordinates;
+    }
+
+    /**
+     * Gets the x coordinate of the point at the given index.
+     *
+     * @param index the point index
+     * @return the x coordinate
+     */
+    @Override
+    public int getX(int index) {
+      return coordinates[2 * checkIndex(index)];
+    }
+
+    /**
+     * Gets the y coordinate of the point at the given index.
+     *
+     * @param index the point index
+     * @return the y coordinate
+     */
+    @Override
+    public int getY(int index) {
+      return coordinates[2 * checkIndex(index) + 1];
+    }
+
+    @Override
+    public Point get(int index) {
+      return new Point(getX(index), getY(index));
+    }
+
+    @Override
+    public int size() {
+      return coordinates.length / 2;
+    }
+
+    private int checkIndex(int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+      }
+      return index;
+    }
+  }
+}
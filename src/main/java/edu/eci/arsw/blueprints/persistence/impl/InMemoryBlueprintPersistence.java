@@ -1,15 +1,26 @@
 package edu.eci.arsw.blueprints.persistence.impl;
 
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
 import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPointsReader;
 import edu.eci.arsw.blueprints.persistence.BlueprintsPersistence;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
-import org.springframework.stereotype.Component;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * In-memory implementation of the BlueprintsPersistence interface.
@@ -22,15 +33,62 @@ import org.springframework.stereotype.Component;
  * and 2 blueprints belonging to the same author as required for the REST API
  * demonstration.
  *
+ * Blueprints with at least {@code blueprints.persistence.offheap-threshold}
+ * points keep their coordinates in an {@link OffHeapPointStore}, so very large
+ * designs do not add millions of Point objects to the old generation. Their
+ * off-heap blocks are owned by the stored blueprints and the kept revisions
+ * using them, and recycled as soon as the last owner drops them.
+ * Geometric metrics are computed on every write and kept next to the
+ * blueprints; writes are serialized so both always match.
+ *
+ * Point data is content-addressed: blueprints with identical geometry share
+ * one immutable {@link ChunkedPointList}, and author and blueprint names are
+ * interned so keys, indexes and stored blueprints reuse the same String
+ * instances. Names are interned only once a write is accepted, so probing
+ * with unknown names does not grow the interner. An updated blueprint reuses
+ * the unchanged chunks of its previous points, and appending points only
+ * encodes and hashes the last chunk and the new ones, and marks the shape
+ * stale instead of describing it again.
+ *
+ * Every write records the stored points as a revision in a
+ * {@link RevisionHistory}, which keeps the last
+ * {@code blueprints.persistence.history-limit} versions of each blueprint
+ * within {@code blueprints.persistence.history-bytes}, and updates the
+ * {@link ShapeIndex} used by similarity searches. A blueprint whose history
+ * was dropped by that budget starts it again, from its stored points, the
+ * next time its history is read. Active when neither the
+ * {@code tiered} nor the {@code btree} Spring profile is.
+ *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
  * @since 2025-09-12
  */
-@Component
 public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
 
+  /**
+   * Default minimum number of points for a blueprint to be stored off-heap.
+   */
+  public static final int DEFAULT_OFF_HEAP_THRESHOLD = 100_000;
+
   private final Map<Tuple<String, String>, Blueprint> blueprints = new ConcurrentHashMap<>();
 
+  private final BlueprintNameIndex nameIndex = new BlueprintNameIndex();
+
+  private final BlueprintMetricsIndex metricsIndex = new BlueprintMetricsIndex();
+
+  private final ShapeIndex shapeIndex = new ShapeIndex();
+
+  @Value("${blueprints.persistence.offheap-threshold:" + DEFAULT_OFF_HEAP_THRESHOLD + "}")
+  private int offHeapThreshold = DEFAULT_OFF_HEAP_THRESHOLD;
+
+  private OffHeapPointStore offHeapStore = new OffHeapPointStore();
+
+  private final ContentAddressedPointStore pointData = new ContentAddressedPointStore();
+
+  private final StringInterner interner = new StringInterner();
+
+  private final RevisionHistory history = new RevisionHistory(RevisionHistory.DEFAULT_LIMIT);
+
   /**
    * Constructs an InMemoryBlueprintPersistence with initial sample data.
    * Loads sample blueprint data for testing and demonstration purposes.
@@ -38,10 +96,12 @@ public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
    * author.
    */
   public InMemoryBlueprintPersistence() {
+    history.setOffHeapStore(offHeapStore);
+
     // Original stub data
     Point[] points1 = new Point[] { new Point(140, 140), new Point(115, 115) };
     Blueprint blueprint1 = new Blueprint("_authorname_", "_bpname_", points1);
-    blueprints.put(new Tuple<>(blueprint1.getAuthor(), blueprint1.getName()), blueprint1);
+    addSample(blueprint1);
 
     // Additional blueprint 1 - John's House Design
     Point[] housePoints = new Point[] {
@@ -50,7 +110,7 @@ public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
         new Point(50, 50), new Point(80, 50), new Point(80, 80)
     };
     Blueprint houseBlueprint = new Blueprint("john", "house_design", housePoints);
-    blueprints.put(new Tuple<>(houseBlueprint.getAuthor(), houseBlueprint.getName()), houseBlueprint);
+    addSample(houseBlueprint);
 
     // Additional blueprint 2 - John's Office Design (same author as above)
     Point[] officePoints = new Point[] {
@@ -59,7 +119,7 @@ public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
         new Point(30, 60), new Point(90, 60), new Point(90, 20), new Point(30, 20)
     };
     Blueprint officeBlueprint = new Blueprint("john", "office_design", officePoints);
-    blueprints.put(new Tuple<>(officeBlueprint.getAuthor(), officeBlueprint.getName()), officeBlueprint);
+    addSample(officeBlueprint);
 
     // Additional blueprint 3 - Maria's Park Design
     Point[] parkPoints = new Point[] {
@@ -68,7 +128,7 @@ public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
         new Point(75, 25), new Point(75, 75), new Point(25, 75), new Point(25, 25)
     };
     Blueprint parkBlueprint = new Blueprint("maria", "park_design", parkPoints);
-    blueprints.put(new Tuple<>(parkBlueprint.getAuthor(), parkBlueprint.getName()), parkBlueprint);
+    addSample(parkBlueprint);
 
     // Additional blueprint 4 - Carlos's Bridge Design
     Point[] bridgePoints = new Point[] {
@@ -78,17 +138,84 @@ public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
         new Point(20, 55), new Point(0, 50)
     };
     Blueprint bridgeBlueprint = new Blueprint("carlos", "bridge_design", bridgePoints);
-    blueprints.put(new Tuple<>(bridgeBlueprint.getAuthor(), bridgeBlueprint.getName()), bridgeBlueprint);
+    addSample(bridgeBlueprint);
+
+    for (Map.Entry<Tuple<String, String>, Blueprint> entry : blueprints.entrySet()) {
+      Tuple<String, String> key = entry.getKey();
+      nameIndex.add(key.getFirstElement(), key.getSecondElement());
+      metricsIndex.put(key.getFirstElement(), key.getSecondElement(),
+          BlueprintMetrics.of(entry.getValue().getPoints()));
+      history.record(key.getFirstElement(), key.getSecondElement(), entry.getValue().getPoints());
+      shapeIndex.put(key.getFirstElement(), key.getSecondElement(), entry.getValue().getPoints());
+    }
+  }
+
+  /**
+   * Sets the minimum number of points for a blueprint to be stored off-heap.
+   *
+   * @param offHeapThreshold the point count threshold
+   */
+  public void setOffHeapThreshold(int offHeapThreshold) {
+    this.offHeapThreshold = offHeapThreshold;
+  }
+
+  /**
+   * Sets the file used as memory-mapped arena for off-heap slabs. An empty
+   * value keeps slabs in direct ByteBuffers. Must be called before any large
+   * blueprint is stored.
+   *
+   * @param arenaFile the arena file path, or an empty string
+   */
+  @Value("${blueprints.persistence.offheap-arena:}")
+  public void setOffHeapArena(String arenaFile) {
+    this.offHeapStore = arenaFile == null || arenaFile.isEmpty()
+        ? new OffHeapPointStore()
+        : new OffHeapPointStore(OffHeapPointStore.DEFAULT_SLAB_BYTES, Paths.get(arenaFile));
+    history.setOffHeapStore(offHeapStore);
+  }
+
+  /**
+   * Sets the number of versions kept per blueprint.
+   *
+   * @param historyLimit the number of versions kept per blueprint
+   */
+  @Value("${blueprints.persistence.history-limit:" + RevisionHistory.DEFAULT_LIMIT + "}")
+  public void setHistoryLimit(int historyLimit) {
+    history.setLimit(historyLimit);
+  }
+
+  /**
+   * Sets the budget of the point chunks kept only by the revision history.
+   *
+   * @param historyBytes the budget in bytes
+   */
+  @Value("${blueprints.persistence.history-bytes:" + RevisionHistory.DEFAULT_MAX_BYTES + "}")
+  public void setHistoryBytes(long historyBytes) {
+    history.setMaxBytes(historyBytes);
+  }
+
+  /**
+   * Gets the off-heap store holding the points of large blueprints.
+   *
+   * @return the off-heap point store
+   */
+  public OffHeapPointStore getOffHeapStore() {
+    return offHeapStore;
   }
 
   @Override
-  public void saveBlueprint(Blueprint blueprint) throws BlueprintPersistenceException {
-    Tuple<String, String> key = new Tuple<>(blueprint.getAuthor(), blueprint.getName());
-    Blueprint existing = blueprints.putIfAbsent(key, blueprint);
-    if (existing != null) {
+  public synchronized void saveBlueprint(Blueprint blueprint) throws BlueprintPersistenceException {
+    if (blueprints.containsKey(new Tuple<>(blueprint.getAuthor(), blueprint.getName()))) {
       throw new BlueprintPersistenceException(
           "The given blueprint already exists: " + blueprint.getAuthor() + "/" + blueprint.getName());
     }
+    Tuple<String, String> key = keyOf(blueprint.getAuthor(), blueprint.getName());
+    Blueprint stored = toStored(blueprint, null);
+    blueprints.put(key, stored);
+    nameIndex.add(key.getFirstElement(), key.getSecondElement());
+    metricsIndex.put(key.getFirstElement(), key.getSecondElement(), BlueprintMetrics.of(blueprint.getPoints()));
+    history.record(key.getFirstElement(), key.getSecondElement(), stored.getPoints());
+    shapeIndex.put(key.getFirstElement(), key.getSecondElement(), blueprint.getPoints());
   }
 
   @Override
@@ -120,11 +247,211 @@ public class InMemoryBlueprintPersistence implements BlueprintsPersistence {
   }
 
   @Override
-  public void updateBlueprint(Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
-    Tuple<String, String> key = new Tuple<>(blueprint.getAuthor(), blueprint.getName());
-    if (!blueprints.containsKey(key)) {
+  public synchronized void updateBlueprint(Blueprint blueprint)
+      throws BlueprintNotFoundException, BlueprintPersistenceException {
+    Blueprint previous = blueprints.get(new Tuple<>(blueprint.getAuthor(), blueprint.getName()));
+    if (previous == null) {
       throw new BlueprintNotFoundException("Blueprint not found: " + blueprint.getAuthor() + "/" + blueprint.getName());
     }
-    blueprints.put(key, blueprint);
+    // The stored blueprint already holds the interned names
+    Tuple<String, String> key = new Tuple<>(previous.getAuthor(), previous.getName());
+    Blueprint stored = toStored(blueprint, previous);
+    blueprints.put(key, stored);
+    release(previous);
+    metricsIndex.put(key.getFirstElement(), key.getSecondElement(), BlueprintMetrics.of(blueprint.getPoints()));
+    history.record(key.getFirstElement(), key.getSecondElement(), stored.getPoints());
+    shapeIndex.put(key.getFirstElement(), key.getSecondElement(), blueprint.getPoints());
+  }
+
+  @Override
+  public List<BlueprintSummary> searchBlueprints(String query, int limit) {
+    return nameIndex.search(query, limit);
+  }
+
+  @Override
+  public synchronized void appendPoints(String author, String blueprintName, List<Point> points)
+      throws BlueprintNotFoundException, BlueprintPersistenceException {
+    Blueprint current = getBlueprint(author, blueprintName);
+    ChunkedPointList base = chunksOf(current);
+    if (base == null) {
+      base = ChunkedPointList.of(new ArrayList<>(), null, ContentAddressedPointStore::pack);
+    }
+    ChunkedPointList appended = ChunkedPointList.append(base, points, encoderFor(base.size() + points.size()));
+    List<Point> extended = pointData.acquire(appended, p -> p);
+    offHeapStore.retain(extended);
+    Tuple<String, String> key = new Tuple<>(current.getAuthor(), current.getName());
+    blueprints.put(key, new Blueprint(key.getFirstElement(), key.getSecondElement(), extended));
+    release(current);
+    metricsIndex.put(key.getFirstElement(), key.getSecondElement(),
+        metricsIndex.get(author, blueprintName).append(points));
+    history.record(key.getFirstElement(), key.getSecondElement(), extended);
+    shapeIndex.markStale(key.getFirstElement(), key.getSecondElement(), () -> currentPoints(key));
+  }
+
+  @Override
+  public BlueprintMetrics getBlueprintMetrics(String author, String blueprintName) throws BlueprintNotFoundException {
+    BlueprintMetrics metrics = metricsIndex.get(author, blueprintName);
+    if (metrics == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return metrics;
+  }
+
+  @Override
+  public AuthorMetrics getAuthorMetrics(String author) throws BlueprintNotFoundException {
+    AuthorMetrics metrics = metricsIndex.getAuthor(author);
+    if (metrics == null) {
+      throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+    }
+    return metrics;
+  }
+
+  @Override
+  public Blueprint getBlueprint(String author, String blueprintName, long version)
+      throws BlueprintNotFoundException {
+    ensureHistory(author, blueprintName);
+    List<Point> points = history.getPoints(author, blueprintName, version);
+    if (points == null) {
+      throw new BlueprintNotFoundException("Blueprint version not found: " + author + "/" + blueprintName
+          + " version " + version);
+    }
+    return new Blueprint(author, blueprintName, points);
+  }
+
+  @Override
+  public long getBlueprintVersion(String author, String blueprintName) throws BlueprintNotFoundException {
+    if (!blueprints.containsKey(new Tuple<>(author, blueprintName))) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return history.getVersion(author, blueprintName);
+  }
+
+  @Override
+  public List<BlueprintRevision> getBlueprintHistory(String author, String blueprintName)
+      throws BlueprintNotFoundException {
+    ensureHistory(author, blueprintName);
+    List<BlueprintRevision> revisions = history.getRevisions(author, blueprintName);
+    if (revisions.isEmpty()) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return revisions;
+  }
+
+  @Override
+  public BlueprintDelta getBlueprintDelta(String author, String blueprintName, long fromVersion, long toVersion)
+      throws BlueprintNotFoundException {
+    ensureHistory(author, blueprintName);
+    BlueprintDelta delta = history.delta(author, blueprintName, fromVersion, toVersion);
+    if (delta == null) {
+      throw new BlueprintNotFoundException("Blueprint version not found: " + author + "/" + blueprintName
+          + " versions " + fromVersion + " to " + toVersion);
+    }
+    return delta;
+  }
+
+  @Override
+  public List<SimilarBlueprint> findSimilarBlueprints(String author, String blueprintName, int k)
+      throws BlueprintNotFoundException {
+    if (metricsIndex.get(author, blueprintName) == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return shapeIndex.similar(author, blueprintName, k);
+  }
+
+  @Override
+  public BlueprintPointsReader openBlueprintPoints(String author, String blueprintName)
+      throws BlueprintNotFoundException {
+    return BlueprintPointsReader.of(getBlueprint(author, blueprintName).getPoints());
+  }
+
+  /**
+   * Gets the content-addressed store shared by blueprints with identical
+   * points.
+   *
+   * @return the content-addressed point store
+   */
+  public ContentAddressedPointStore getPointData() {
+    return pointData;
+  }
+
+  private void addSample(Blueprint blueprint) {
+    blueprints.put(keyOf(blueprint.getAuthor(), blueprint.getName()), toStored(blueprint, null));
+  }
+
+  private Tuple<String, String> keyOf(String author, String blueprintName) {
+    return new Tuple<>(interner.intern(author), interner.intern(blueprintName));
+  }
+
+  /**
+   * Builds the instance kept in the map: interned author and name, and points
+   * taken from the content-addressed store, so identical geometry is stored
+   * only once. New point sequences are chunked reusing the unchanged chunks
+   * of the blueprint's previous points.
+   *
+   * @param blueprint the blueprint received from the service layer
+   * @param previous  the stored blueprint it replaces, or null
+   * @return the blueprint instance to keep in the map
+   */
+  private Blueprint toStored(Blueprint blueprint, Blueprint previous) {
+    List<Point> points = blueprint.getPoints();
+    if (points != null) {
+      ChunkedPointList base = previous == null ? null : chunksOf(previous);
+      points = pointData.acquire(points, p -> ChunkedPointList.of(p, base, encoderFor(p.size())));
+      offHeapStore.retain(points);
+    }
+    return new Blueprint(interner.intern(blueprint.getAuthor()), interner.intern(blueprint.getName()), points);
+  }
+
+  /**
+   * Gets the encoder of the chunks of a point sequence. The chunks of large
+   * blueprints go off-heap; the rest are packed into int arrays. Off-heap
+   * blocks are recycled once no stored blueprint or kept revision owns them.
+   *
+   * @param size the number of points of the sequence
+   * @return the chunk encoder
+   */
+  private UnaryOperator<List<Point>> encoderFor(int size) {
+    if (size < offHeapThreshold) {
+      return ContentAddressedPointStore::pack;
+    }
+    return offHeapStore::store;
+  }
+
+  /**
+   * Starts the history of a blueprint again from its stored points when the
+   * history budget dropped it. Writes are excluded meanwhile, so the stored
+   * points are those of the current version.
+   */
+  private void ensureHistory(String author, String blueprintName) {
+    if (history.contains(author, blueprintName)) {
+      return;
+    }
+    synchronized (this) {
+      Blueprint stored = blueprints.get(new Tuple<>(author, blueprintName));
+      if (stored != null) {
+        history.start(stored.getAuthor(), stored.getName(), stored.getPoints());
+      }
+    }
+  }
+
+  private List<Point> currentPoints(Tuple<String, String> key) {
+    Blueprint stored = blueprints.get(key);
+    return stored == null ? null : stored.getPoints();
+  }
+
+  private static ChunkedPointList chunksOf(Blueprint stored) {
+    return stored.getPoints() instanceof ChunkedPointList ? (ChunkedPointList) stored.getPoints() : null;
+  }
+
+  /**
+   * Drops the references of a replaced blueprint: its shared buffer and its
+   * off-heap blocks, which go back to the free lists right away unless a
+   * kept revision or another blueprint still owns them.
+   */
+  private void release(Blueprint stored) {
+    if (stored.getPoints() != null) {
+      pointData.release(stored.getPoints());
+      offHeapStore.release(stored.getPoints());
+    }
   }
 }
@@ -0,0 +1,306 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Slab allocator that keeps blueprint coordinates outside the Java heap.
+ * Points are packed as pairs of ints into blocks carved out of large slabs,
+ * which are either direct ByteBuffers or regions of a memory-mapped arena file.
+ * Blocks are grouped in power-of-two size classes and go back to a per-class
+ * free list as soon as the last owner of their point list releases it, so
+ * updates reuse existing slab space instead of growing it. Lists never
+ * retained, or never released, are recycled once unreachable as a safety net.
+ * A released list keeps working for readers still holding it: its
+ * coordinates are copied to the heap before the block is handed out again.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-20
+ */
+public class OffHeapPointStore {
+
+  /**
+   * Default size of every slab (64 MB).
+   */
+  public static final int DEFAULT_SLAB_BYTES = 64 * 1024 * 1024;
+
+  private static final int BYTES_PER_POINT = 8;
+  private static final int MIN_BLOCK_POINTS = 64;
+  private static final int SIZE_CLASSES = 31;
+
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private final int slabBytes;
+  private final FileChannel arena;
+  private final List<ArrayDeque<ByteBuffer>> freeLists = new ArrayList<>();
+  private ByteBuffer currentSlab;
+  private long arenaOffset;
+  private long reservedBytes;
+  private long usedBytes;
+
+  /**
+   * Constructs a store backed by direct ByteBuffer slabs of the default size.
+   */
+  public OffHeapPointStore() {
+    this(DEFAULT_SLAB_BYTES, null);
+  }
+
+  /**
+   * Constructs a store with the given slab size.
+   *
+   * @param slabBytes the size in bytes of every slab
+   * @param arenaFile file where slabs are memory-mapped, or null to use direct
+   *                  ByteBuffers
+   */
+  public OffHeapPointStore(int slabBytes, Path arenaFile) {
+    this.slabBytes = slabBytes;
+    for (int i = 0; i < SIZE_CLASSES; i++) {
+      freeLists.add(new ArrayDeque<>());
+    }
+    try {
+      this.arena = arenaFile == null ? null
+          : FileChannel.open(arenaFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to open off-heap arena: " + arenaFile, ex);
+    }
+  }
+
+  /**
+   * Copies the given points into an off-heap block.
+   * The block is recycled when the last owner that {@link #retain(List)
+   * retained} the returned list releases it, or once the list is no longer
+   * referenced.
+   *
+   * @param points the points to store
+   * @return an immutable list view over the stored coordinates
+   */
+  public OffHeapPointList store(List<Point> points) {
+    int size = points.size();
+    int sizeClass = sizeClass(size);
+    ByteBuffer block = allocate(sizeClass);
+    for (int i = 0; i < size; i++) {
+      Point point = points.get(i);
+      block.putInt(i * BYTES_PER_POINT, point.getX());
+      block.putInt(i * BYTES_PER_POINT + 4, point.getY());
+    }
+    return new OffHeapPointList(this, block, size, new Release(this, sizeClass, block));
+  }
+
+  /**
+   * Adds an owner to the off-heap blocks of a point list: the list itself if
+   * it is a block of this store, or its chunks if it is a
+   * {@link ChunkedPointList}. Other lists are ignored.
+   *
+   * @param points the point list
+   */
+  public synchronized void retain(List<Point> points) {
+    forEachBlock(points, list -> list.owners++);
+  }
+
+  /**
+   * Removes an owner from the off-heap blocks of a point list, recycling the
+   * blocks left without owners.
+   *
+   * @param points the point list, previously passed to {@link #retain(List)}
+   */
+  public synchronized void release(List<Point> points) {
+    forEachBlock(points, list -> {
+      if (--list.owners == 0) {
+        list.detach();
+      }
+    });
+  }
+
+  /**
+   * Gets the total number of bytes reserved by slabs.
+   *
+   * @return the reserved off-heap bytes
+   */
+  public synchronized long getReservedBytes() {
+    return reservedBytes;
+  }
+
+  /**
+   * Gets the number of bytes currently held by live blocks.
+   *
+   * @return the used off-heap bytes
+   */
+  public synchronized long getUsedBytes() {
+    return usedBytes;
+  }
+
+  private synchronized ByteBuffer allocate(int sizeClass) {
+    int blockBytes = (1 << sizeClass) * BYTES_PER_POINT;
+    usedBytes += blockBytes;
+
+    ByteBuffer reused = freeLists.get(sizeClass).poll();
+    if (reused != null) {
+      return reused;
+    }
+    if (blockBytes > slabBytes) {
+      return newSlab(blockBytes);
+    }
+    if (currentSlab == null || currentSlab.remaining() < blockBytes) {
+      currentSlab = newSlab(slabBytes);
+    }
+    ByteBuffer block = currentSlab.slice(currentSlab.position(), blockBytes);
+    currentSlab.position(currentSlab.position() + blockBytes);
+    return block;
+  }
+
+  private void forEachBlock(List<Point> points, Consumer<OffHeapPointList> action) {
+    if (points instanceof ChunkedPointList) {
+      ChunkedPointList chunked = (ChunkedPointList) points;
+      for (int c = 0; c < chunked.getChunkCount(); c++) {
+        forEachBlock(chunked.getChunk(c), action);
+      }
+    } else if (points instanceof OffHeapPointList && ((OffHeapPointList) points).store == this) {
+      action.accept((OffHeapPointList) points);
+    }
+  }
+
+  private synchronized void release(int sizeClass, ByteBuffer block) {
+    usedBytes -= block.capacity();
+    freeLists.get(sizeClass).push(block);
+  }
+
+  private ByteBuffer newSlab(int bytes) {
+    reservedBytes += bytes;
+    if (arena == null) {
+      return ByteBuffer.allocateDirect(bytes);
+    }
+    try {
+      ByteBuffer slab = arena.map(FileChannel.MapMode.READ_WRITE, arenaOffset, bytes);
+      arenaOffset += bytes;
+      return slab;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to grow off-heap arena", ex);
+    }
+  }
+
+  private static int sizeClass(int points) {
+    int blockPoints = Math.max(points, MIN_BLOCK_POINTS);
+    return 32 - Integer.numberOfLeadingZeros(blockPoints - 1);
+  }
+
+  /**
+   * Action returning a block to its free list, run once, either explicitly or
+   * by the Cleaner. It must not reference the point list itself, otherwise
+   * the list would never become unreachable.
+   */
+  private static final class Release implements Runnable {
+
+    private final OffHeapPointStore store;
+    private final int sizeClass;
+    private final ByteBuffer block;
+
+    private Release(OffHeapPointStore store, int sizeClass, ByteBuffer block) {
+      this.store = store;
+      this.sizeClass = sizeClass;
+      this.block = block;
+    }
+
+    @Override
+    public void run() {
+      store.release(sizeClass, block);
+    }
+  }
+
+  /**
+   * Immutable list view over an off-heap block of packed coordinates.
+   * Points are decoded on access, so callers that only need coordinates can
+   * use {@link #getX(int)} and {@link #getY(int)} without allocating.
+   */
+  public static final class OffHeapPointList extends AbstractList<Point> implements RandomAccess, PointCoordinates {
+
+    private final OffHeapPointStore store;
+    private final int size;
+    private final Cleaner.Cleanable cleanable;
+    private volatile ByteBuffer block;
+    private int owners;
+
+    private OffHeapPointList(OffHeapPointStore store, ByteBuffer block, int size, Release release) {
+      this.store = store;
+      this.block = block;
+      this.size = size;
+      this.cleanable = CLEANER.register(this, release);
+    }
+
+    /**
+     * Gets the x coordinate of the point at the given index.
+     *
+     * @param index the point index
+     * @return the x coordinate
+     */
+    @Override
+    public int getX(int index) {
+      return read(checkIndex(index) * BYTES_PER_POINT);
+    }
+
+    /**
+     * Gets the y coordinate of the point at the given index.
+     *
+     * @param index the point index
+     * @return the y coordinate
+     */
+    @Override
+    public int getY(int index) {
+      return read(checkIndex(index) * BYTES_PER_POINT + 4);
+    }
+
+    @Override
+    public Point get(int index) {
+      return new Point(getX(index), getY(index));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Reads an int, validating that the block was not detached meanwhile. A
+     * detached block may already hold another list, but the heap copy
+     * replacing it never changes.
+     */
+    private int read(int offset) {
+      ByteBuffer current = block;
+      int value = current.getInt(offset);
+      VarHandle.acquireFence();
+      return current == block ? value : block.getInt(offset);
+    }
+
+    /**
+     * Moves the coordinates to the heap and recycles the off-heap block.
+     */
+    private void detach() {
+      ByteBuffer copy = ByteBuffer.allocate(size * BYTES_PER_POINT);
+      copy.put(0, block, 0, size * BYTES_PER_POINT);
+      block = copy;
+      cleanable.clean();
+    }
+
+    private int checkIndex(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return index;
+    }
+  }
+}
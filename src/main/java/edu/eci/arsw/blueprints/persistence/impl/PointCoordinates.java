@@ -0,0 +1,36 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+/**
+ * Point list whose coordinates can be read without creating Point objects.
+ * Implemented by the packed, off-heap and chunked lists that hold stored
+ * blueprints, so code scanning many points can skip the per-point allocation.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-20
+ */
+public interface PointCoordinates {
+
+  /**
+   * Gets the number of points.
+   *
+   * @return the point count
+   */
+  int size();
+
+  /**
+   * Gets the x coordinate of the point at the given index.
+   *
+   * @param index the point index
+   * @return the x coordinate
+   */
+  int getX(int index);
+
+  /**
+   * Gets the y coordinate of the point at the given index.
+   *
+   * @param index the point index
+   * @return the y coordinate
+   */
+  int getY(int index);
+}
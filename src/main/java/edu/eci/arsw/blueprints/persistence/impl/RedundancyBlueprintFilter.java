@@ -6,13 +6,15 @@ import edu.eci.arsw.blueprints.model.Point;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Blueprint filter implementation that removes consecutive duplicate points.
  * This filter optimizes blueprints by eliminating redundant consecutive points
  * that represent the same coordinate, reducing the overall size of the
- * blueprint.
+ * blueprint. Stored point lists are compared through
+ * {@link PointCoordinates}, so filtering them creates no Point objects.
  *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
@@ -36,6 +38,9 @@ public class RedundancyBlueprintFilter implements BlueprintFilter {
     }
 
     List<Point> originalPoints = blueprint.getPoints();
+    if (originalPoints instanceof PointCoordinates) {
+      return filterCoordinates(blueprint, (PointCoordinates) originalPoints);
+    }
     List<Point> filteredPoints = new ArrayList<>();
 
     // Add the first point
@@ -60,4 +65,23 @@ public class RedundancyBlueprintFilter implements BlueprintFilter {
 
     return filteredBlueprint;
   }
+
+  /**
+   * Removes consecutive duplicates comparing coordinates, without creating
+   * Point objects.
+   */
+  private static Blueprint filterCoordinates(Blueprint blueprint, PointCoordinates coordinates) {
+    int[] kept = new int[2 * coordinates.size()];
+    int length = 0;
+    for (int i = 0; i < coordinates.size(); i++) {
+      int x = coordinates.getX(i);
+      int y = coordinates.getY(i);
+      if (length == 0 || x != kept[length - 2] || y != kept[length - 1]) {
+        kept[length++] = x;
+        kept[length++] = y;
+      }
+    }
+    List<Point> filteredPoints = new ContentAddressedPointStore.PackedPointList(Arrays.copyOf(kept, length));
+    return new Blueprint(blueprint.getAuthor(), blueprint.getName(), filteredPoints);
+  }
 }
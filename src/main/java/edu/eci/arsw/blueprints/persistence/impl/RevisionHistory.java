@@ -0,0 +1,391 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointChange;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded revision history of every blueprint.
+ * The points of each revision are a {@link ChunkedPointList}. A persistence
+ * that stores its blueprints as chunked lists records them as they are, so
+ * the current revision costs nothing and older ones only keep the chunks
+ * that changed since; other point lists are chunked here, reusing the
+ * unchanged chunks of the previous revision. Computing the delta between two
+ * revisions skips shared chunks by identity.
+ *
+ * Only the most recent revisions of each blueprint are kept, and the chunks
+ * held only by the history are bounded by a byte budget: the blueprints whose
+ * history was least recently used are dropped whole when it is exceeded.
+ * Version numbers survive that: a blueprint whose history was dropped starts
+ * again from its current version. When the points live in an
+ * {@link OffHeapPointStore}, every kept revision owns its off-heap chunks, so
+ * they are recycled only once neither the store nor the history uses them.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-30
+ */
+public class RevisionHistory {
+
+  /**
+   * Default number of revisions kept per blueprint.
+   */
+  public static final int DEFAULT_LIMIT = 20;
+
+  /**
+   * Default budget of the chunks held only by the history (64 MB).
+   */
+  public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+  private static final int BYTES_PER_POINT = 8;
+
+  private final Map<Tuple<String, String>, Timeline> timelines = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Tuple<String, String>, Long> versions = new ConcurrentHashMap<>();
+  private int limit;
+  private OffHeapPointStore offHeapStore;
+  private long maxBytes = DEFAULT_MAX_BYTES;
+  private long bytes;
+
+  /**
+   * Creates an empty history.
+   *
+   * @param limit the number of revisions kept per blueprint
+   */
+  public RevisionHistory(int limit) {
+    this.limit = Math.max(1, limit);
+  }
+
+  /**
+   * Changes the number of revisions kept per blueprint, dropping the oldest
+   * revisions over the new limit.
+   *
+   * @param limit the number of revisions kept per blueprint
+   */
+  public synchronized void setLimit(int limit) {
+    this.limit = Math.max(1, limit);
+    for (Timeline timeline : timelines.values()) {
+      trim(timeline, this.limit);
+    }
+  }
+
+  /**
+   * Changes the budget of the chunks held only by the history, dropping the
+   * least recently used blueprint histories over the new budget.
+   *
+   * @param maxBytes the budget in bytes
+   */
+  public synchronized void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+    enforceBudget(null);
+  }
+
+  /**
+   * Sets the off-heap store whose chunks the kept revisions retain.
+   *
+   * @param offHeapStore the off-heap point store, or null
+   */
+  public synchronized void setOffHeapStore(OffHeapPointStore offHeapStore) {
+    this.offHeapStore = offHeapStore;
+  }
+
+  /**
+   * Records a new revision of a blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param points the points of the new revision, possibly null; a
+   *               {@link ChunkedPointList} is taken as the stored
+   *               representation and shared as it is
+   * @return the version number of the new revision
+   */
+  public synchronized long record(String author, String name, List<Point> points) {
+    return add(new Tuple<>(author, name), points, null);
+  }
+
+  /**
+   * Records a new revision of a blueprint made by appending points to its
+   * current revision. Unless the points are the stored representation, the
+   * new revision reuses the full chunks of the current one without comparing
+   * them.
+   *
+   * @param author   the blueprint's author
+   * @param name     the blueprint's name
+   * @param points   all the points of the new revision
+   * @param appended the points appended at the end
+   * @return the version number of the new revision
+   */
+  public synchronized long recordAppend(String author, String name, List<Point> points, List<Point> appended) {
+    return add(new Tuple<>(author, name), points, appended);
+  }
+
+  /**
+   * Records the current content of a blueprint as its current version, unless
+   * the blueprint already has kept revisions. Used when the history of a
+   * blueprint was never started or was dropped.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param points the current points of the blueprint, possibly null
+   */
+  public synchronized void start(String author, String name, List<Point> points) {
+    Tuple<String, String> key = new Tuple<>(author, name);
+    if (timelines.containsKey(key)) {
+      return;
+    }
+    Timeline timeline = new Timeline();
+    timeline.revisions.add(retain(new Revision(versions.computeIfAbsent(key, k -> 1L), chunk(points, null, null),
+        points instanceof ChunkedPointList)));
+    timelines.put(key, timeline);
+    timeline.bytes = weigh(timeline);
+    bytes += timeline.bytes;
+    enforceBudget(key);
+  }
+
+  /**
+   * Tells whether a blueprint has any kept revision.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return true if the blueprint has a history
+   */
+  public synchronized boolean contains(String author, String name) {
+    return timelines.containsKey(new Tuple<>(author, name));
+  }
+
+  /**
+   * Gets the current version number of a blueprint, without touching its
+   * kept revisions. Blueprints never changed since they were loaded are at
+   * version 1.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the current version number
+   */
+  public long getVersion(String author, String name) {
+    return versions.getOrDefault(new Tuple<>(author, name), 1L);
+  }
+
+  /**
+   * Gets the points of a revision.
+   *
+   * @param author  the blueprint's author
+   * @param name    the blueprint's name
+   * @param version the version number
+   * @return the immutable points, or null if the revision is unknown or no
+   *         longer kept
+   */
+  public synchronized List<Point> getPoints(String author, String name, long version) {
+    Revision revision = find(author, name, version);
+    return revision == null ? null : revision.points;
+  }
+
+  /**
+   * Gets the kept revisions of a blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the revisions, oldest first, or an empty list if none
+   */
+  public synchronized List<BlueprintRevision> getRevisions(String author, String name) {
+    List<BlueprintRevision> result = new ArrayList<>();
+    Timeline timeline = timelines.get(new Tuple<>(author, name));
+    if (timeline != null) {
+      for (Revision revision : timeline.revisions) {
+        result.add(new BlueprintRevision(revision.version, revision.timestamp, revision.points.size()));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the points changed between two revisions.
+   *
+   * @param author      the blueprint's author
+   * @param name        the blueprint's name
+   * @param fromVersion the version the delta applies to
+   * @param toVersion   the version the delta produces
+   * @return the delta, or null if either revision is unknown or no longer
+   *         kept
+   */
+  public synchronized BlueprintDelta delta(String author, String name, long fromVersion, long toVersion) {
+    Revision from = find(author, name, fromVersion);
+    Revision to = find(author, name, toVersion);
+    if (from == null || to == null) {
+      return null;
+    }
+    List<PointChange> changes = new ArrayList<>();
+    for (int c = 0; c < to.points.getChunkCount(); c++) {
+      List<Point> target = to.points.getChunk(c);
+      List<Point> source = c < from.points.getChunkCount() ? from.points.getChunk(c) : null;
+      if (target == source) {
+        continue;
+      }
+      int base = c * ChunkedPointList.CHUNK_POINTS;
+      for (int i = 0; i < target.size(); i++) {
+        Point point = target.get(i);
+        if (source == null || i >= source.size() || !source.get(i).equals(point)) {
+          changes.add(new PointChange(base + i, point.getX(), point.getY()));
+        }
+      }
+    }
+    return new BlueprintDelta(fromVersion, toVersion, to.points.size(), changes);
+  }
+
+  /**
+   * Gets the bytes of the chunks currently held only by the history.
+   *
+   * @return the retained bytes
+   */
+  public synchronized long getRetainedBytes() {
+    return bytes;
+  }
+
+  private long add(Tuple<String, String> key, List<Point> points, List<Point> appended) {
+    Timeline timeline = timelines.computeIfAbsent(key, k -> new Timeline());
+    ChunkedPointList chunked = chunk(points, timeline.revisions.peekLast(), appended);
+    long version = versions.merge(key, 1L, Long::sum);
+    timeline.revisions.addLast(retain(new Revision(version, chunked, points instanceof ChunkedPointList)));
+    trim(timeline, limit);
+    enforceBudget(key);
+    return version;
+  }
+
+  /**
+   * Gets the chunked form of the points of a new revision: the points
+   * themselves when they are already chunked, or new chunks reusing those of
+   * the previous revision.
+   */
+  private static ChunkedPointList chunk(List<Point> points, Revision previous, List<Point> appended) {
+    if (points instanceof ChunkedPointList) {
+      return (ChunkedPointList) points;
+    }
+    List<Point> content = points == null ? new ArrayList<>() : points;
+    if (previous != null && appended != null && previous.points.size() + appended.size() == content.size()) {
+      return ChunkedPointList.append(previous.points, appended, ContentAddressedPointStore::pack);
+    }
+    return ChunkedPointList.of(content, previous == null ? null : previous.points, ContentAddressedPointStore::pack);
+  }
+
+  private Revision find(String author, String name, long version) {
+    Timeline timeline = timelines.get(new Tuple<>(author, name));
+    if (timeline == null) {
+      return null;
+    }
+    for (Revision revision : timeline.revisions) {
+      if (revision.version == version) {
+        return revision;
+      }
+    }
+    return null;
+  }
+
+  private Revision retain(Revision revision) {
+    if (offHeapStore != null) {
+      offHeapStore.retain(revision.points);
+    }
+    return revision;
+  }
+
+  private void release(Revision revision) {
+    if (offHeapStore != null) {
+      offHeapStore.release(revision.points);
+    }
+  }
+
+  private void trim(Timeline timeline, int keep) {
+    while (timeline.revisions.size() > keep) {
+      release(timeline.revisions.removeFirst());
+    }
+    bytes -= timeline.bytes;
+    timeline.bytes = weigh(timeline);
+    bytes += timeline.bytes;
+  }
+
+  /**
+   * Drops whole blueprint histories, least recently used first, until the
+   * budget is met. The history just written is kept, down to its current
+   * revision if it exceeds the budget alone.
+   */
+  private void enforceBudget(Tuple<String, String> current) {
+    Iterator<Map.Entry<Tuple<String, String>, Timeline>> eldest = timelines.entrySet().iterator();
+    while (bytes > maxBytes && eldest.hasNext()) {
+      Map.Entry<Tuple<String, String>, Timeline> entry = eldest.next();
+      if (!entry.getKey().equals(current)) {
+        bytes -= entry.getValue().bytes;
+        entry.getValue().revisions.forEach(this::release);
+        eldest.remove();
+      }
+    }
+    Timeline timeline = current == null ? null : timelines.get(current);
+    if (bytes > maxBytes && timeline != null) {
+      trim(timeline, 1);
+    }
+  }
+
+  /**
+   * Weighs the distinct chunks of the kept revisions of a blueprint, leaving
+   * out the chunks of the current revision when it is shared with the
+   * stored blueprint.
+   */
+  private static long weigh(Timeline timeline) {
+    Set<List<Point>> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+    Revision current = timeline.revisions.peekLast();
+    if (current != null && current.shared) {
+      for (int c = 0; c < current.points.getChunkCount(); c++) {
+        counted.add(current.points.getChunk(c));
+      }
+    }
+    long weight = 0;
+    for (Revision revision : timeline.revisions) {
+      for (int c = 0; c < revision.points.getChunkCount(); c++) {
+        List<Point> chunk = revision.points.getChunk(c);
+        if (counted.add(chunk)) {
+          weight += (long) BYTES_PER_POINT * chunk.size();
+        }
+      }
+    }
+    return weight;
+  }
+
+  /**
+   * Kept revisions of one blueprint, oldest first, and the bytes of the
+   * chunks only they hold.
+   */
+  private static final class Timeline {
+
+    private final Deque<Revision> revisions = new ArrayDeque<>();
+    private long bytes;
+  }
+
+  /**
+   * Immutable revision: its version, timestamp and chunked points, and
+   * whether those points are the stored blueprint's own list.
+   */
+  private static final class Revision {
+
+    private final long version;
+    private final long timestamp;
+    private final ChunkedPointList points;
+    private final boolean shared;
+
+    private Revision(long version, ChunkedPointList points, boolean shared) {
+      this.version = version;
+      this.timestamp = System.currentTimeMillis();
+      this.points = points;
+      this.shared = shared;
+    }
+  }
+}
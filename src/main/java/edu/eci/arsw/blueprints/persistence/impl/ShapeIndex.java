@@ -0,0 +1,360 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shape-similarity index over all stored blueprints.
+ * Each blueprint path is resampled to 32 points equally spaced along its
+ * length, translated to its centroid, scaled to unit RMS radius and quantized
+ * to a 64-byte descriptor. Descriptors are hashed with random hyperplanes
+ * into several locality-sensitive hash tables; a query only ranks the
+ * blueprints sharing a bucket, or a bucket one bit away, with the query in
+ * some table, so it never scans the whole catalog. Exact buckets are probed
+ * before their neighbours, and each bucket contributes at most
+ * {@value #MAX_BUCKET_CANDIDATES} candidates up to
+ * {@value #MAX_CANDIDATES} per query, so catalogs full of near-identical
+ * shapes cannot turn a query into a scan.
+ *
+ * A writer that changes points often, such as an append, can mark a shape
+ * stale instead of describing it on every write; stale shapes are described
+ * again, from their current points, by the next query.
+ *
+ * Writers are serialized; readers only block while stale shapes are
+ * described again.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-01
+ */
+public class ShapeIndex {
+
+  private static final int SAMPLES = 32;
+  private static final int DIMENSIONS = 2 * SAMPLES;
+  private static final float QUANTIZATION = 40f;
+  private static final int TABLES = 8;
+  private static final int BITS = 16;
+  private static final long SEED = 0x5eed_b1de_9a1dL;
+  private static final int MAX_BUCKET_CANDIDATES = 256;
+  private static final int MAX_CANDIDATES = 4096;
+
+  private final float[][] planes = new float[TABLES * BITS][DIMENSIONS];
+  private final List<Map<Integer, Set<Tuple<String, String>>>> tables = new ArrayList<>();
+  private final Map<Tuple<String, String>, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<Tuple<String, String>, Supplier<List<Point>>> stale = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty index. Hyperplanes come from a fixed seed, so hashes are
+   * stable across restarts.
+   */
+  public ShapeIndex() {
+    Random random = new Random(SEED);
+    for (float[] plane : planes) {
+      for (int d = 0; d < DIMENSIONS; d++) {
+        plane[d] = (float) random.nextGaussian();
+      }
+    }
+    for (int t = 0; t < TABLES; t++) {
+      tables.add(new ConcurrentHashMap<>());
+    }
+  }
+
+  /**
+   * Indexes the shape of a blueprint, replacing its previous shape if any.
+   * Blueprints without length, such as single points, are not indexed.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param points the blueprint points, possibly null
+   */
+  public void put(String author, String name, List<Point> points) {
+    putDescriptor(author, name, describe(points));
+  }
+
+  /**
+   * Indexes a descriptor built by {@link #describe(List)}, replacing the
+   * previous shape of the blueprint if any. Lets a persistence that stores
+   * descriptors restore the index without reading the points.
+   *
+   * @param author     the blueprint's author
+   * @param name       the blueprint's name
+   * @param descriptor the shape descriptor, or null if the blueprint has no
+   *                   length
+   */
+  public synchronized void putDescriptor(String author, String name, byte[] descriptor) {
+    Tuple<String, String> key = new Tuple<>(author, name);
+    stale.remove(key);
+    index(key, descriptor);
+  }
+
+  /**
+   * Marks the shape of a blueprint as stale. Its previous shape stays indexed
+   * until the next query describes the points returned by the supplier, so
+   * repeated writes to the same blueprint are described once.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param points supplies the current points of the blueprint, possibly null
+   */
+  public void markStale(String author, String name, Supplier<List<Point>> points) {
+    stale.put(new Tuple<>(author, name), points);
+  }
+
+  private void index(Tuple<String, String> key, byte[] descriptor) {
+    Entry previous = entries.remove(key);
+    if (previous != null) {
+      for (int t = 0; t < TABLES; t++) {
+        Set<Tuple<String, String>> bucket = tables.get(t).get(previous.hashes[t]);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+          tables.get(t).remove(previous.hashes[t]);
+        }
+      }
+    }
+    if (descriptor == null) {
+      return;
+    }
+    Entry entry = new Entry(descriptor, hash(descriptor));
+    entries.put(key, entry);
+    for (int t = 0; t < TABLES; t++) {
+      tables.get(t).computeIfAbsent(entry.hashes[t], h -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+  }
+
+  /**
+   * Finds the blueprints with the most similar shape to an indexed one.
+   *
+   * @param author the queried blueprint's author
+   * @param name   the queried blueprint's name
+   * @param k      the maximum number of results
+   * @return the most similar blueprints, closest first, excluding the queried
+   *         one; empty if the blueprint is not indexed
+   */
+  public List<SimilarBlueprint> similar(String author, String name, int k) {
+    refresh();
+    Tuple<String, String> key = new Tuple<>(author, name);
+    Entry query = entries.get(key);
+    List<SimilarBlueprint> result = new ArrayList<>();
+    if (query == null) {
+      return result;
+    }
+
+    Set<Tuple<String, String>> candidates = new HashSet<>();
+    for (int t = 0; t < TABLES; t++) {
+      collect(tables.get(t), query.hashes[t], key, candidates);
+    }
+    // Multi-probe: neighbouring buckets catch shapes split by one hyperplane
+    for (int bit = 0; bit < BITS; bit++) {
+      for (int t = 0; t < TABLES; t++) {
+        collect(tables.get(t), query.hashes[t] ^ (1 << bit), key, candidates);
+      }
+    }
+
+    PriorityQueue<Ranked> best = new PriorityQueue<>();
+    for (Tuple<String, String> candidate : candidates) {
+      Entry entry = entries.get(candidate);
+      if (entry == null) {
+        continue;
+      }
+      long distance = squaredDistance(query.descriptor, entry.descriptor);
+      if (best.size() < k) {
+        best.add(new Ranked(candidate, distance));
+      } else if (distance < best.peek().distance) {
+        best.poll();
+        best.add(new Ranked(candidate, distance));
+      }
+    }
+    while (!best.isEmpty()) {
+      Ranked ranked = best.poll();
+      double rms = Math.sqrt((double) ranked.distance / SAMPLES) / QUANTIZATION;
+      result.add(0, new SimilarBlueprint(ranked.key.getFirstElement(), ranked.key.getSecondElement(), rms));
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of indexed blueprints.
+   *
+   * @return the number of indexed shapes
+   */
+  public int size() {
+    refresh();
+    return entries.size();
+  }
+
+  /**
+   * Describes again the shapes marked stale since the last query.
+   */
+  private void refresh() {
+    if (stale.isEmpty()) {
+      return;
+    }
+    synchronized (this) {
+      for (Tuple<String, String> key : stale.keySet()) {
+        Supplier<List<Point>> points = stale.remove(key);
+        if (points != null) {
+          index(key, describe(points.get()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds up to {@value #MAX_BUCKET_CANDIDATES} blueprints of a bucket to the
+   * candidates, other than the query, while they are under
+   * {@value #MAX_CANDIDATES}.
+   */
+  private static void collect(Map<Integer, Set<Tuple<String, String>>> table, int hash,
+      Tuple<String, String> query, Set<Tuple<String, String>> candidates) {
+    Set<Tuple<String, String>> bucket = table.get(hash);
+    if (bucket == null) {
+      return;
+    }
+    int taken = 0;
+    for (Tuple<String, String> candidate : bucket) {
+      if (taken == MAX_BUCKET_CANDIDATES || candidates.size() == MAX_CANDIDATES) {
+        return;
+      }
+      if (!candidate.equals(query)) {
+        candidates.add(candidate);
+        taken++;
+      }
+    }
+  }
+
+  /**
+   * Builds the quantized descriptor of a path, {@value #DIMENSIONS} bytes
+   * long, or null if it has no length.
+   */
+  static byte[] describe(List<Point> points) {
+    if (points == null || points.size() < 2) {
+      return null;
+    }
+    double length = 0;
+    for (int i = 1; i < points.size(); i++) {
+      length += distance(points.get(i - 1), points.get(i));
+    }
+    if (length == 0) {
+      return null;
+    }
+
+    // Resample at equal arc-length steps
+    double[] samples = new double[DIMENSIONS];
+    double step = length / (SAMPLES - 1);
+    int segment = 1;
+    double walked = 0;
+    double segmentLength = distance(points.get(0), points.get(1));
+    for (int s = 0; s < SAMPLES; s++) {
+      double target = Math.min(s * step, length);
+      while (walked + segmentLength < target && segment < points.size() - 1) {
+        walked += segmentLength;
+        segment++;
+        segmentLength = distance(points.get(segment - 1), points.get(segment));
+      }
+      Point from = points.get(segment - 1);
+      Point to = points.get(segment);
+      double t = segmentLength == 0 ? 0 : Math.min(1, (target - walked) / segmentLength);
+      samples[2 * s] = from.getX() + t * (to.getX() - from.getX());
+      samples[2 * s + 1] = from.getY() + t * (to.getY() - from.getY());
+    }
+
+    // Translate to the centroid and scale to unit RMS radius
+    double centerX = 0;
+    double centerY = 0;
+    for (int s = 0; s < SAMPLES; s++) {
+      centerX += samples[2 * s];
+      centerY += samples[2 * s + 1];
+    }
+    centerX /= SAMPLES;
+    centerY /= SAMPLES;
+    double radius = 0;
+    for (int s = 0; s < SAMPLES; s++) {
+      samples[2 * s] -= centerX;
+      samples[2 * s + 1] -= centerY;
+      radius += samples[2 * s] * samples[2 * s] + samples[2 * s + 1] * samples[2 * s + 1];
+    }
+    radius = Math.sqrt(radius / SAMPLES);
+
+    byte[] descriptor = new byte[DIMENSIONS];
+    for (int d = 0; d < DIMENSIONS; d++) {
+      long quantized = Math.round(samples[d] / radius * QUANTIZATION);
+      descriptor[d] = (byte) Math.max(-127, Math.min(127, quantized));
+    }
+    return descriptor;
+  }
+
+  private int[] hash(byte[] descriptor) {
+    int[] hashes = new int[TABLES];
+    for (int t = 0; t < TABLES; t++) {
+      int hash = 0;
+      for (int bit = 0; bit < BITS; bit++) {
+        float[] plane = planes[t * BITS + bit];
+        float dot = 0;
+        for (int d = 0; d < DIMENSIONS; d++) {
+          dot += plane[d] * descriptor[d];
+        }
+        if (dot >= 0) {
+          hash |= 1 << bit;
+        }
+      }
+      hashes[t] = hash;
+    }
+    return hashes;
+  }
+
+  private static long squaredDistance(byte[] a, byte[] b) {
+    long sum = 0;
+    for (int d = 0; d < DIMENSIONS; d++) {
+      int diff = a[d] - b[d];
+      sum += diff * diff;
+    }
+    return sum;
+  }
+
+  private static double distance(Point a, Point b) {
+    return Math.hypot((double) b.getX() - a.getX(), (double) b.getY() - a.getY());
+  }
+
+  /**
+   * Descriptor of an indexed blueprint and its bucket in every table.
+   */
+  private static final class Entry {
+
+    private final byte[] descriptor;
+    private final int[] hashes;
+
+    private Entry(byte[] descriptor, int[] hashes) {
+      this.descriptor = descriptor;
+      this.hashes = hashes;
+    }
+  }
+
+  /**
+   * Candidate in the top-k heap, ordered with the farthest first.
+   */
+  private static final class Ranked implements Comparable<Ranked> {
+
+    private final Tuple<String, String> key;
+    private final long distance;
+
+    private Ranked(Tuple<String, String> key, long distance) {
+      this.key = key;
+      this.distance = distance;
+    }
+
+    @Override
+    public int compareTo(Ranked other) {
+      return Long.compare(other.distance, distance);
+    }
+  }
+}
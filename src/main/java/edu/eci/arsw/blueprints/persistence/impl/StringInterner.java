@@ -0,0 +1,42 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning table for author and blueprint names.
+ * Equal strings received in different requests are replaced by one canonical
+ * instance, so map keys, indexes and stored blueprints share it instead of
+ * each keeping its own copy.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-24
+ */
+public class StringInterner {
+
+  private final Map<String, String> table = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the canonical instance equal to the given string.
+   *
+   * @param value the string to intern, possibly null
+   * @return the canonical instance, or null if the value is null
+   */
+  public String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    String canonical = table.putIfAbsent(value, value);
+    return canonical == null ? value : canonical;
+  }
+
+  /**
+   * Gets the number of distinct strings in the table.
+   *
+   * @return the table size
+   */
+  public int size() {
+    return table.size();
+  }
+}
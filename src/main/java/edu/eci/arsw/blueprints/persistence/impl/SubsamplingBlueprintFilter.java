@@ -13,7 +13,8 @@ import java.util.List;
  * Blueprint filter implementation that applies subsampling to reduce points.
  * This filter optimizes blueprints by removing every other point in an
  * alternating pattern, effectively reducing the blueprint size by approximately
- * half.
+ * half. Stored point lists are read through {@link PointCoordinates}, so
+ * filtering them creates no Point objects.
  *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
@@ -39,11 +40,23 @@ public class SubsamplingBlueprintFilter implements BlueprintFilter {
     }
 
     List<Point> originalPoints = blueprint.getPoints();
-    List<Point> filteredPoints = new ArrayList<>();
+    List<Point> filteredPoints;
 
-    // Keep points at even indices (0, 2, 4, ...)
-    for (int i = 0; i < originalPoints.size(); i += 2) {
-      filteredPoints.add(originalPoints.get(i));
+    if (originalPoints instanceof PointCoordinates) {
+      // Copy the kept coordinates without creating Point objects
+      PointCoordinates coordinates = (PointCoordinates) originalPoints;
+      int[] kept = new int[2 * ((coordinates.size() + 1) / 2)];
+      for (int i = 0; i < coordinates.size(); i += 2) {
+        kept[i] = coordinates.getX(i);
+        kept[i + 1] = coordinates.getY(i);
+      }
+      filteredPoints = new ContentAddressedPointStore.PackedPointList(kept);
+    } else {
+      filteredPoints = new ArrayList<>();
+      // Keep points at even indices (0, 2, 4, ...)
+      for (int i = 0; i < originalPoints.size(); i += 2) {
+        filteredPoints.add(originalPoints.get(i));
+      }
     }
 
     // Create and return new filtered blueprint
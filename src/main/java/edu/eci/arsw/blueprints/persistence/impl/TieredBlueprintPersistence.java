@@ -0,0 +1,799 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
+import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPointsReader;
+import edu.eci.arsw.blueprints.persistence.BlueprintsPersistence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Two-tier implementation of the BlueprintsPersistence interface.
+ * Every blueprint is stored as one file in a local directory, and the working
+ * set stays in memory under a byte budget weighted by point count. Cold
+ * blueprints are loaded back transparently on a miss.
+ *
+ * Writes go through to the directory before they return, so evicting a
+ * blueprint never writes and a crash loses no acknowledged write. The
+ * in-memory tier is guarded by a short internal lock, while disk reads and
+ * writes run outside it under a per-key lock, so a cold read only delays the
+ * operations on its own key.
+ *
+ * Eviction follows a simplified W-TinyLFU policy: new entries go through a
+ * small LRU admission window and only enter the main region when their
+ * estimated access frequency beats the main region's LRU victim. Full catalog
+ * listings neither count as accesses nor admit entries, so they do not
+ * distort admission. The author to
+ * names index, the name search index, the shape index and the geometric
+ * metrics are always resident, so looking up or searching authors and reading metrics never touch
+ * the disk directory. Active with the {@code tiered} Spring profile.
+ *
+ * Revisions written while the application runs are kept in a resident
+ * {@link RevisionHistory}. A blueprint loaded from the cold tier starts its
+ * history, as version 1, the first time it is changed or its history is
+ * read.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-21
+ */
+public class TieredBlueprintPersistence implements BlueprintsPersistence {
+
+  private static final String FILE_EXTENSION = ".bp";
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+  // Negative, so it never matches the point count that opens a legacy file
+  private static final int FILE_MAGIC = 0xB1E50001;
+  private static final long ENTRY_OVERHEAD_BYTES = 128;
+  private static final long BYTES_PER_POINT = 24;
+  private static final double WINDOW_FRACTION = 0.01;
+  private static final int KEY_LOCKS = 64;
+
+  private final Path directory;
+  private final long windowBudget;
+  private final long mainBudget;
+
+  private final Map<String, Set<String>> authorIndex = new ConcurrentHashMap<>();
+  private final BlueprintNameIndex nameIndex = new BlueprintNameIndex();
+  private final BlueprintMetricsIndex metricsIndex = new BlueprintMetricsIndex();
+  private final ShapeIndex shapeIndex = new ShapeIndex();
+  private final LinkedHashMap<Tuple<String, String>, Blueprint> window = new LinkedHashMap<>(16, 0.75f, true);
+  private final LinkedHashMap<Tuple<String, String>, Blueprint> main = new LinkedHashMap<>(16, 0.75f, true);
+  private final FrequencySketch sketch = new FrequencySketch(1 << 16);
+  private final RevisionHistory history = new RevisionHistory(RevisionHistory.DEFAULT_LIMIT);
+  private long windowWeight;
+  private long mainWeight;
+
+  // Guards the window, the main region, their weights and the sketch
+  private final Object tierLock = new Object();
+  private final Lock[] keyLocks = new Lock[KEY_LOCKS];
+
+  private final AtomicLong hotHits = new AtomicLong();
+  private final AtomicLong coldHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Constructs a TieredBlueprintPersistence over the given cold directory.
+   * Blueprints already present in the directory are registered in the indexes
+   * from the metadata header of their files, without reading their points,
+   * and temporary files left by an interrupted write are deleted.
+   *
+   * @param directory the directory used by the cold tier
+   * @param maxBytes  the memory budget of the hot tier, in estimated bytes
+   */
+  public TieredBlueprintPersistence(String directory, long maxBytes) {
+    this.directory = Paths.get(directory);
+    this.windowBudget = Math.max(1, (long) (maxBytes * WINDOW_FRACTION));
+    this.mainBudget = maxBytes - windowBudget;
+    for (int i = 0; i < keyLocks.length; i++) {
+      keyLocks[i] = new ReentrantLock();
+    }
+    try {
+      Files.createDirectories(this.directory);
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + TEMPORARY_EXTENSION)) {
+        for (Path file : files) {
+          Files.deleteIfExists(file);
+        }
+      }
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + FILE_EXTENSION)) {
+        for (Path file : files) {
+          Tuple<String, String> key = keyOf(file);
+          authorIndex.computeIfAbsent(key.getFirstElement(), a -> ConcurrentHashMap.newKeySet())
+              .add(key.getSecondElement());
+          nameIndex.add(key.getFirstElement(), key.getSecondElement());
+          readMetadata(key).index(key.getFirstElement(), key.getSecondElement(), metricsIndex, shapeIndex);
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to open cold tier directory: " + directory, ex);
+    }
+  }
+
+  /**
+   * Sets the number of versions kept per blueprint.
+   *
+   * @param historyLimit the number of versions kept per blueprint
+   */
+  @Value("${blueprints.persistence.history-limit:" + RevisionHistory.DEFAULT_LIMIT + "}")
+  public void setHistoryLimit(int historyLimit) {
+    history.setLimit(historyLimit);
+  }
+
+  /**
+   * Sets the budget of the point chunks kept by the revision history.
+   *
+   * @param historyBytes the budget in bytes
+   */
+  @Value("${blueprints.persistence.history-bytes:" + RevisionHistory.DEFAULT_MAX_BYTES + "}")
+  public void setHistoryBytes(long historyBytes) {
+    history.setMaxBytes(historyBytes);
+  }
+
+  /**
+   * Registers the tier hit counters and ratios in the given registry.
+   *
+   * @param registry the meter registry provided by Spring Boot Actuator
+   */
+  @Autowired(required = false)
+  public void setMeterRegistry(MeterRegistry registry) {
+    FunctionCounter.builder("blueprints.tiered.hits", hotHits, AtomicLong::get).tag("tier", "hot")
+        .register(registry);
+    FunctionCounter.builder("blueprints.tiered.hits", coldHits, AtomicLong::get).tag("tier", "cold")
+        .register(registry);
+    FunctionCounter.builder("blueprints.tiered.misses", misses, AtomicLong::get).register(registry);
+    Gauge.builder("blueprints.tiered.hit.ratio", this, TieredBlueprintPersistence::getHotHitRatio)
+        .tag("tier", "hot").register(registry);
+    Gauge.builder("blueprints.tiered.hit.ratio", this, TieredBlueprintPersistence::getColdHitRatio)
+        .tag("tier", "cold").register(registry);
+    Gauge.builder("blueprints.tiered.resident.bytes", this, TieredBlueprintPersistence::getResidentBytes)
+        .register(registry);
+  }
+
+  @Override
+  public void saveBlueprint(Blueprint blueprint) throws BlueprintPersistenceException {
+    Tuple<String, String> key = new Tuple<>(blueprint.getAuthor(), blueprint.getName());
+    Lock keyLock = lockOf(key);
+    keyLock.lock();
+    try {
+      if (contains(key)) {
+        throw new BlueprintPersistenceException(
+            "The given blueprint already exists: " + blueprint.getAuthor() + "/" + blueprint.getName());
+      }
+      BlueprintMetadata metadata = writeCold(key, blueprint, BlueprintMetrics.of(blueprint.getPoints()));
+      store(key, blueprint);
+      authorIndex.computeIfAbsent(blueprint.getAuthor(), a -> ConcurrentHashMap.newKeySet())
+          .add(blueprint.getName());
+      nameIndex.add(blueprint.getAuthor(), blueprint.getName());
+      metadata.index(blueprint.getAuthor(), blueprint.getName(), metricsIndex, shapeIndex);
+      history.record(blueprint.getAuthor(), blueprint.getName(), blueprint.getPoints());
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  @Override
+  public Blueprint getBlueprint(String author, String blueprintName) throws BlueprintNotFoundException {
+    Blueprint result = lookup(new Tuple<>(author, blueprintName), true);
+    if (result == null) {
+      misses.incrementAndGet();
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return result;
+  }
+
+  @Override
+  public Set<Blueprint> getAllBlueprints() {
+    Set<Blueprint> all = new HashSet<>();
+    for (Map.Entry<String, Set<String>> entry : authorIndex.entrySet()) {
+      for (String name : entry.getValue()) {
+        // Full scans bypass admission so they do not flush the working set
+        Blueprint blueprint = lookup(new Tuple<>(entry.getKey(), name), false);
+        if (blueprint != null) {
+          all.add(blueprint);
+        }
+      }
+    }
+    return all;
+  }
+
+  @Override
+  public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+    Set<String> names = authorIndex.get(author);
+    if (names == null || names.isEmpty()) {
+      misses.incrementAndGet();
+      throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+    }
+    Set<Blueprint> authorBlueprints = new HashSet<>();
+    for (String name : names) {
+      Blueprint blueprint = lookup(new Tuple<>(author, name), true);
+      if (blueprint != null) {
+        authorBlueprints.add(blueprint);
+      }
+    }
+    return authorBlueprints;
+  }
+
+  @Override
+  public void updateBlueprint(Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
+    Tuple<String, String> key = new Tuple<>(blueprint.getAuthor(), blueprint.getName());
+    Lock keyLock = lockOf(key);
+    keyLock.lock();
+    try {
+      if (!contains(key)) {
+        throw new BlueprintNotFoundException(
+            "Blueprint not found: " + blueprint.getAuthor() + "/" + blueprint.getName());
+      }
+      startHistory(key);
+      BlueprintMetadata metadata = writeCold(key, blueprint, BlueprintMetrics.of(blueprint.getPoints()));
+      metadata.index(blueprint.getAuthor(), blueprint.getName(), metricsIndex, shapeIndex);
+      store(key, blueprint);
+      history.record(blueprint.getAuthor(), blueprint.getName(), blueprint.getPoints());
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  @Override
+  public void appendPoints(String author, String blueprintName, List<Point> points)
+      throws BlueprintNotFoundException, BlueprintPersistenceException {
+    Tuple<String, String> key = new Tuple<>(author, blueprintName);
+    Lock keyLock = lockOf(key);
+    keyLock.lock();
+    try {
+      Blueprint current = getBlueprint(author, blueprintName);
+      startHistory(key);
+      List<Point> currentPoints = current.getPoints() == null ? new ArrayList<>() : current.getPoints();
+      List<Point> extended = new ArrayList<>(currentPoints.size() + points.size());
+      extended.addAll(currentPoints);
+      extended.addAll(points);
+      Blueprint updated = new Blueprint(author, blueprintName, extended);
+      BlueprintMetadata metadata = writeCold(key, updated, metricsIndex.get(author, blueprintName).append(points));
+      metadata.index(author, blueprintName, metricsIndex, shapeIndex);
+      store(key, updated);
+      history.recordAppend(author, blueprintName, extended, points);
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  @Override
+  public BlueprintMetrics getBlueprintMetrics(String author, String blueprintName) throws BlueprintNotFoundException {
+    BlueprintMetrics metrics = metricsIndex.get(author, blueprintName);
+    if (metrics == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return metrics;
+  }
+
+  @Override
+  public AuthorMetrics getAuthorMetrics(String author) throws BlueprintNotFoundException {
+    AuthorMetrics metrics = metricsIndex.getAuthor(author);
+    if (metrics == null) {
+      throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+    }
+    return metrics;
+  }
+
+  @Override
+  public List<BlueprintSummary> searchBlueprints(String query, int limit) {
+    return nameIndex.search(query, limit);
+  }
+
+  @Override
+  public Blueprint getBlueprint(String author, String blueprintName, long version)
+      throws BlueprintNotFoundException {
+    ensureHistory(new Tuple<>(author, blueprintName));
+    List<Point> points = history.getPoints(author, blueprintName, version);
+    if (points == null) {
+      throw new BlueprintNotFoundException("Blueprint version not found: " + author + "/" + blueprintName
+          + " version " + version);
+    }
+    return new Blueprint(author, blueprintName, points);
+  }
+
+  @Override
+  public long getBlueprintVersion(String author, String blueprintName) throws BlueprintNotFoundException {
+    if (!contains(new Tuple<>(author, blueprintName))) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return history.getVersion(author, blueprintName);
+  }
+
+  @Override
+  public List<BlueprintRevision> getBlueprintHistory(String author, String blueprintName)
+      throws BlueprintNotFoundException {
+    ensureHistory(new Tuple<>(author, blueprintName));
+    List<BlueprintRevision> revisions = history.getRevisions(author, blueprintName);
+    if (revisions.isEmpty()) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return revisions;
+  }
+
+  @Override
+  public BlueprintDelta getBlueprintDelta(String author, String blueprintName, long fromVersion,
+      long toVersion) throws BlueprintNotFoundException {
+    ensureHistory(new Tuple<>(author, blueprintName));
+    BlueprintDelta delta = history.delta(author, blueprintName, fromVersion, toVersion);
+    if (delta == null) {
+      throw new BlueprintNotFoundException("Blueprint version not found: " + author + "/" + blueprintName
+          + " versions " + fromVersion + " to " + toVersion);
+    }
+    return delta;
+  }
+
+  @Override
+  public List<SimilarBlueprint> findSimilarBlueprints(String author, String blueprintName, int k)
+      throws BlueprintNotFoundException {
+    if (metricsIndex.get(author, blueprintName) == null) {
+      throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+    }
+    return shapeIndex.similar(author, blueprintName, k);
+  }
+
+  /**
+   * {@inheritDoc} Blueprints in the hot tier are read from memory; cold ones
+   * are read range by range from their file, without being admitted. Writes
+   * replace files by renaming, so an open reader keeps the version it opened.
+   */
+  @Override
+  public BlueprintPointsReader openBlueprintPoints(String author, String blueprintName)
+      throws BlueprintNotFoundException {
+    Tuple<String, String> key = new Tuple<>(author, blueprintName);
+    if (contains(key)) {
+      Blueprint hot = hot(key, true);
+      if (hot != null) {
+        hotHits.incrementAndGet();
+        return BlueprintPointsReader.of(hot.getPoints());
+      }
+      try {
+        BlueprintPointsReader cold = new ColdPointsReader(FileChannel.open(fileOf(key), StandardOpenOption.READ));
+        coldHits.incrementAndGet();
+        return cold;
+      } catch (NoSuchFileException ex) {
+        // Not written yet, so not found
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Unable to read cold blueprint: " + key, ex);
+      }
+    }
+    misses.incrementAndGet();
+    throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + blueprintName);
+  }
+
+  /**
+   * Gets the fraction of successful lookups served by the hot tier.
+   *
+   * @return the hot tier hit ratio
+   */
+  public double getHotHitRatio() {
+    return ratio(hotHits.get());
+  }
+
+  /**
+   * Gets the fraction of successful lookups served by the cold tier.
+   *
+   * @return the cold tier hit ratio
+   */
+  public double getColdHitRatio() {
+    return ratio(coldHits.get());
+  }
+
+  /**
+   * Gets the estimated number of bytes held by the hot tier.
+   *
+   * @return the resident weight in bytes
+   */
+  public long getResidentBytes() {
+    synchronized (tierLock) {
+      return windowWeight + mainWeight;
+    }
+  }
+
+  private double ratio(long hits) {
+    long total = hotHits.get() + coldHits.get();
+    return total == 0 ? 0.0 : (double) hits / total;
+  }
+
+  /**
+   * Starts the history of a blueprint read before it was ever changed, under
+   * its key lock so it cannot race with a write.
+   */
+  private void ensureHistory(Tuple<String, String> key) {
+    if (history.contains(key.getFirstElement(), key.getSecondElement())) {
+      return;
+    }
+    Lock keyLock = lockOf(key);
+    keyLock.lock();
+    try {
+      startHistory(key);
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  /**
+   * Records the current content of an existing blueprint as its current
+   * revision, unless it already has a history. Callers hold the key lock.
+   */
+  private void startHistory(Tuple<String, String> key) {
+    if (!history.contains(key.getFirstElement(), key.getSecondElement())) {
+      Blueprint current = lookup(key, false);
+      if (current != null) {
+        history.start(key.getFirstElement(), key.getSecondElement(), current.getPoints());
+      }
+    }
+  }
+
+  private boolean contains(Tuple<String, String> key) {
+    Set<String> names = authorIndex.get(key.getFirstElement());
+    return names != null && names.contains(key.getSecondElement());
+  }
+
+  private Lock lockOf(Tuple<String, String> key) {
+    int hash = key.hashCode();
+    return keyLocks[(hash ^ (hash >>> 16)) & (KEY_LOCKS - 1)];
+  }
+
+  /**
+   * Finds a blueprint in memory or reads it from the directory. Only
+   * admitting lookups count as accesses in the frequency sketch. Disk reads
+   * happen under the key lock but outside the tier lock.
+   */
+  private Blueprint lookup(Tuple<String, String> key, boolean admit) {
+    if (!contains(key)) {
+      return null;
+    }
+    Blueprint hot = hot(key, admit);
+    if (hot != null) {
+      hotHits.incrementAndGet();
+      return hot;
+    }
+    Lock keyLock = lockOf(key);
+    keyLock.lock();
+    try {
+      // Another miss or a write of the same key may have loaded it meanwhile
+      hot = hot(key, false);
+      if (hot != null) {
+        hotHits.incrementAndGet();
+        return hot;
+      }
+      Blueprint cold = readCold(key);
+      coldHits.incrementAndGet();
+      if (admit) {
+        synchronized (tierLock) {
+          admit(key, cold);
+        }
+      }
+      return cold;
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  private Blueprint hot(Tuple<String, String> key, boolean access) {
+    synchronized (tierLock) {
+      if (access) {
+        sketch.increment(key);
+      }
+      Blueprint hot = window.get(key);
+      return hot != null ? hot : main.get(key);
+    }
+  }
+
+  private void store(Tuple<String, String> key, Blueprint blueprint) {
+    synchronized (tierLock) {
+      sketch.increment(key);
+      remove(key);
+      admit(key, blueprint);
+    }
+  }
+
+  private void remove(Tuple<String, String> key) {
+    Blueprint previous = window.remove(key);
+    if (previous != null) {
+      windowWeight -= weigh(previous);
+    }
+    previous = main.remove(key);
+    if (previous != null) {
+      mainWeight -= weigh(previous);
+    }
+  }
+
+  /**
+   * Places an entry in the admission window and moves the window overflow into
+   * the main region, where the frequency sketch decides between the candidate
+   * and the LRU victim. Every entry is already on disk, so the loser is just
+   * dropped. Callers hold the tier lock.
+   */
+  private void admit(Tuple<String, String> key, Blueprint blueprint) {
+    window.put(key, blueprint);
+    windowWeight += weigh(blueprint);
+    while (windowWeight > windowBudget && !window.isEmpty()) {
+      Iterator<Map.Entry<Tuple<String, String>, Blueprint>> eldest = window.entrySet().iterator();
+      Map.Entry<Tuple<String, String>, Blueprint> candidate = eldest.next();
+      eldest.remove();
+      windowWeight -= weigh(candidate.getValue());
+      admitToMain(candidate.getKey(), candidate.getValue());
+    }
+  }
+
+  private void admitToMain(Tuple<String, String> key, Blueprint blueprint) {
+    long weight = weigh(blueprint);
+    int frequency = sketch.frequency(key);
+    while (mainWeight + weight > mainBudget && !main.isEmpty()) {
+      Map.Entry<Tuple<String, String>, Blueprint> victim = main.entrySet().iterator().next();
+      if (frequency <= sketch.frequency(victim.getKey())) {
+        return;
+      }
+      main.remove(victim.getKey());
+      mainWeight -= weigh(victim.getValue());
+    }
+    if (mainWeight + weight > mainBudget) {
+      return;
+    }
+    main.put(key, blueprint);
+    mainWeight += weight;
+  }
+
+  private static long weigh(Blueprint blueprint) {
+    int points = blueprint.getPoints() == null ? 0 : blueprint.getPoints().size();
+    return ENTRY_OVERHEAD_BYTES + BYTES_PER_POINT * points;
+  }
+
+  private Path fileOf(Tuple<String, String> key) {
+    return directory.resolve(URLEncoder.encode(key.getFirstElement(), StandardCharsets.UTF_8) + "&"
+        + URLEncoder.encode(key.getSecondElement(), StandardCharsets.UTF_8) + FILE_EXTENSION);
+  }
+
+  private static Tuple<String, String> keyOf(Path file) {
+    String fileName = file.getFileName().toString();
+    String[] parts = fileName.substring(0, fileName.length() - FILE_EXTENSION.length()).split("&", 2);
+    return new Tuple<>(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+        URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes a blueprint to a temporary file, forces it to disk and renames it
+   * over the previous file, so a crash leaves either version but never a
+   * partial one. The file starts with a header holding the metrics and shape
+   * descriptor of the points, so opening the directory reads only headers.
+   *
+   * @return the metadata written in the header
+   */
+  private BlueprintMetadata writeCold(Tuple<String, String> key, Blueprint blueprint, BlueprintMetrics metrics) {
+    Path file = fileOf(key);
+    Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY_EXTENSION);
+    List<Point> points = blueprint.getPoints() == null ? new ArrayList<>() : blueprint.getPoints();
+    BlueprintMetadata metadata = BlueprintMetadata.of(metrics, points);
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      byte[] header = metadata.encode();
+      out.writeInt(FILE_MAGIC);
+      out.writeInt(header.length);
+      out.write(header);
+      out.writeInt(points.size());
+      for (Point point : points) {
+        out.writeInt(point.getX());
+        out.writeInt(point.getY());
+      }
+      out.flush();
+      channel.force(true);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to write cold blueprint: " + key, ex);
+    }
+    try {
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to write cold blueprint: " + key, ex);
+    }
+    return metadata;
+  }
+
+  private Blueprint readCold(Tuple<String, String> key) {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fileOf(key))))) {
+      int size = in.readInt();
+      if (size == FILE_MAGIC) {
+        in.skipNBytes(in.readInt());
+        size = in.readInt();
+      }
+      return new Blueprint(key.getFirstElement(), key.getSecondElement(), readPoints(in, size));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to read cold blueprint: " + key, ex);
+    }
+  }
+
+  /**
+   * Reads only the metadata header of a cold file. Files written before the
+   * header existed are decoded once, and gain a header on their next write.
+   */
+  private BlueprintMetadata readMetadata(Tuple<String, String> key) {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fileOf(key))))) {
+      int size = in.readInt();
+      if (size == FILE_MAGIC) {
+        return BlueprintMetadata.decode(in.readNBytes(in.readInt()));
+      }
+      List<Point> points = readPoints(in, size);
+      return BlueprintMetadata.of(BlueprintMetrics.of(points), points);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to read cold blueprint: " + key, ex);
+    }
+  }
+
+  private static List<Point> readPoints(DataInputStream in, int size) throws IOException {
+    List<Point> points = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      points.add(new Point(in.readInt(), in.readInt()));
+    }
+    return points;
+  }
+
+  /**
+   * Points reader over an open cold file. It reads the header once and then
+   * only the requested ranges of points.
+   */
+  private static final class ColdPointsReader implements BlueprintPointsReader {
+
+    private final FileChannel channel;
+    private final long pointsAt;
+    private final int size;
+
+    private ColdPointsReader(FileChannel channel) throws IOException {
+      this.channel = channel;
+      try {
+        int first = readInt(channel, 0);
+        if (first == FILE_MAGIC) {
+          long sizeAt = 8L + readInt(channel, 4);
+          this.size = readInt(channel, sizeAt);
+          this.pointsAt = sizeAt + 4;
+        } else {
+          // Legacy file without a metadata header
+          this.size = first;
+          this.pointsAt = 4;
+        }
+      } catch (IOException | RuntimeException ex) {
+        channel.close();
+        throw ex;
+      }
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public List<Point> read(int offset, int count) {
+      int from = Math.min(offset, size);
+      int points = (int) Math.min(count, (long) size - from);
+      ByteBuffer buffer = ByteBuffer.allocate(8 * points);
+      try {
+        long position = pointsAt + 8L * from;
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer, position + buffer.position()) < 0) {
+            throw new EOFException("Truncated cold blueprint file");
+          }
+        }
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Unable to read cold blueprint", ex);
+      }
+      buffer.flip();
+      List<Point> result = new ArrayList<>(points);
+      for (int i = 0; i < points; i++) {
+        result.add(new Point(buffer.getInt(), buffer.getInt()));
+      }
+      return result;
+    }
+
+    @Override
+    public void close() {
+      try {
+        channel.close();
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Unable to close cold blueprint", ex);
+      }
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(4);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new EOFException("Truncated cold blueprint file");
+        }
+      }
+      return buffer.getInt(0);
+    }
+  }
+
+  /**
+   * Count-min sketch with four rows used to estimate access frequencies. All
+   * counters are halved periodically so old popularity fades away.
+   */
+  private static final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+    private final int[][] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    private FrequencySketch(int width) {
+      this.table = new int[DEPTH][width];
+      this.mask = width - 1;
+      this.sampleSize = 10 * width;
+    }
+
+    private void increment(Object key) {
+      int hash = key.hashCode();
+      for (int row = 0; row < DEPTH; row++) {
+        table[row][index(hash, row)]++;
+      }
+      if (++additions >= sampleSize) {
+        for (int[] counters : table) {
+          for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+          }
+        }
+        additions /= 2;
+      }
+    }
+
+    private int frequency(Object key) {
+      int hash = key.hashCode();
+      int min = Integer.MAX_VALUE;
+      for (int row = 0; row < DEPTH; row++) {
+        min = Math.min(min, table[row][index(hash, row)]);
+      }
+      return min;
+    }
+
+    private int index(int hash, int row) {
+      int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+      return (h ^ (h >>> 16)) & mask;
+    }
+  }
+}
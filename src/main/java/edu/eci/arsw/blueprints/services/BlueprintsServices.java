@@ -1,14 +1,36 @@
 package edu.eci.arsw.blueprints.services;
 
 import edu.eci.arsw.blueprints.persistence.BlueprintFilter;
+import edu.eci.arsw.blueprints.model.AuthorMetrics;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.BlueprintSegment;
+import edu.eci.arsw.blueprints.model.BlueprintSummary;
+import edu.eci.arsw.blueprints.model.NearestPoint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
 import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.exceptions.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPointsReader;
 import edu.eci.arsw.blueprints.persistence.BlueprintsPersistence;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -19,6 +41,17 @@ import org.springframework.stereotype.Service;
  * implementing the service layer pattern for blueprint-related functionality
  * with filtering capabilities.
  *
+ * Concurrent identical reads (same operation, key and filter) are coalesced:
+ * one caller reads and filters, the others wait for and share its result.
+ * Read keys also hold the version of the blueprint, or for listings the
+ * number of completed writes, so a read that starts after a write never
+ * joins a flight that started before it.
+ *
+ * Hit-testing and nearest-vertex queries use a {@link SpatialIndex} built on
+ * first use for each blueprint and rebuilt once its version changes. The
+ * most recently used indexes are kept within
+ * {@code blueprints.spatial.max-bytes}.
+ *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
  * @since 2025-09-12
@@ -26,12 +59,38 @@ import org.springframework.stereotype.Service;
 @Service
 public class BlueprintsServices {
 
+  /**
+   * Default budget of the cached spatial indexes (64 MB).
+   */
+  public static final long DEFAULT_SPATIAL_INDEX_BYTES = 64L * 1024 * 1024;
+
+  /**
+   * Author names that cannot be registered, because API routes below
+   * {@code /blueprints} use them as their first path segment.
+   */
+  public static final Set<String> RESERVED_AUTHORS = Set.of("search", "metrics");
+
   @Autowired
   private BlueprintsPersistence blueprintsPersistence;
 
   @Autowired
   private BlueprintFilter blueprintFilter;
 
+  private final SingleFlight<List<String>, Set<Blueprint>> setReads = new SingleFlight<>();
+
+  private final SingleFlight<List<String>, Blueprint> blueprintReads = new SingleFlight<>();
+
+  private final AtomicLong writes = new AtomicLong();
+
+  private final Map<List<String>, SpatialIndex> spatialIndexes = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long spatialIndexBytes;
+
+  @Value("${blueprints.spatial.max-bytes:" + DEFAULT_SPATIAL_INDEX_BYTES + "}")
+  private long maxSpatialIndexBytes = DEFAULT_SPATIAL_INDEX_BYTES;
+
+  private final SingleFlight<List<String>, SpatialIndex> spatialBuilds = new SingleFlight<>();
+
   /**
    * Sets the blueprint persistence implementation (used for testing without
    * Spring context).
@@ -52,31 +111,80 @@ public class BlueprintsServices {
     this.blueprintFilter = blueprintFilter;
   }
 
+  /**
+   * Registers the read coalescing counters and ratios in the given registry.
+   *
+   * @param registry the meter registry provided by Spring Boot Actuator
+   */
+  @Autowired(required = false)
+  public void setMeterRegistry(MeterRegistry registry) {
+    register(registry, "set", setReads);
+    register(registry, "blueprint", blueprintReads);
+    Gauge.builder("blueprints.spatial.bytes", this, BlueprintsServices::getSpatialIndexBytes).register(registry);
+  }
+
+  /**
+   * Sets the budget of the cached spatial indexes (used for testing without
+   * Spring context).
+   *
+   * @param maxSpatialIndexBytes the budget in bytes
+   */
+  public void setMaxSpatialIndexBytes(long maxSpatialIndexBytes) {
+    this.maxSpatialIndexBytes = maxSpatialIndexBytes;
+  }
+
+  /**
+   * Gets the bytes held by the cached spatial indexes.
+   *
+   * @return the cached index bytes
+   */
+  public long getSpatialIndexBytes() {
+    synchronized (spatialIndexes) {
+      return spatialIndexBytes;
+    }
+  }
+
+  private static void register(MeterRegistry registry, String kind, SingleFlight<?, ?> flight) {
+    FunctionCounter.builder("blueprints.reads.calls", flight, SingleFlight::getCalls).tag("kind", kind)
+        .register(registry);
+    FunctionCounter.builder("blueprints.reads.executions", flight, SingleFlight::getExecutions).tag("kind", kind)
+        .register(registry);
+    Gauge.builder("blueprints.reads.coalescing.ratio", flight, SingleFlight::getCoalescingRatio).tag("kind", kind)
+        .register(registry);
+  }
+
   /**
    * Registers a new blueprint in the system.
    *
    * @param blueprint the blueprint to be added
-   * @throws BlueprintPersistenceException if the blueprint already exists or a
+   * @throws BlueprintPersistenceException if the blueprint already exists, its
+   *                                       author name is reserved or a
    *                                       persistence error occurs
    */
   public void addNewBlueprint(Blueprint blueprint) throws BlueprintPersistenceException {
+    if (RESERVED_AUTHORS.contains(blueprint.getAuthor())) {
+      throw new BlueprintPersistenceException("The author name is reserved: " + blueprint.getAuthor());
+    }
     blueprintsPersistence.saveBlueprint(blueprint);
+    writes.incrementAndGet();
   }
 
   /**
    * Retrieves all blueprints stored in the system with applied filtering.
    * 
-   * @return a set containing all filtered blueprints
+   * @return an unmodifiable set containing all filtered blueprints
    */
   public Set<Blueprint> getAllBlueprints() {
-    Set<Blueprint> blueprints = blueprintsPersistence.getAllBlueprints();
-    Set<Blueprint> filteredBlueprints = new HashSet<>();
+    return setReads.execute(readKey("all", "", writes.get()), () -> {
+      Set<Blueprint> blueprints = blueprintsPersistence.getAllBlueprints();
+      Set<Blueprint> filteredBlueprints = new HashSet<>();
 
-    for (Blueprint blueprint : blueprints) {
-      filteredBlueprints.add(blueprintFilter.filter(blueprint));
-    }
+      for (Blueprint blueprint : blueprints) {
+        filteredBlueprints.add(blueprintFilter.filter(blueprint));
+      }
 
-    return filteredBlueprints;
+      return Collections.unmodifiableSet(filteredBlueprints);
+    });
   }
 
   /**
@@ -89,27 +197,31 @@ public class BlueprintsServices {
    *                                    parameters
    */
   public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-    Blueprint blueprint = blueprintsPersistence.getBlueprint(author, name);
-    return blueprintFilter.filter(blueprint);
+    long version = getBlueprintVersion(author, name);
+    return blueprintReads.execute(readKey(author, name, version),
+        () -> blueprintFilter.filter(blueprintsPersistence.getBlueprint(author, name)));
   }
 
   /**
    * Retrieves all blueprints created by a specific author with applied filtering.
    *
    * @param author the blueprint author to search for
-   * @return a set containing all filtered blueprints by the specified author
+   * @return an unmodifiable set containing all filtered blueprints by the
+   *         specified author
    * @throws BlueprintNotFoundException if no blueprints are found for the given
    *                                    author
    */
   public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-    Set<Blueprint> blueprints = blueprintsPersistence.getBlueprintsByAuthor(author);
-    Set<Blueprint> filteredBlueprints = new HashSet<>();
+    return setReads.execute(readKey("author", author, writes.get()), () -> {
+      Set<Blueprint> blueprints = blueprintsPersistence.getBlueprintsByAuthor(author);
+      Set<Blueprint> filteredBlueprints = new HashSet<>();
 
-    for (Blueprint blueprint : blueprints) {
-      filteredBlueprints.add(blueprintFilter.filter(blueprint));
-    }
+      for (Blueprint blueprint : blueprints) {
+        filteredBlueprints.add(blueprintFilter.filter(blueprint));
+      }
 
-    return filteredBlueprints;
+      return Collections.unmodifiableSet(filteredBlueprints);
+    });
   }
 
   /**
@@ -122,5 +234,257 @@ public class BlueprintsServices {
    */
   public void updateBlueprint(Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
     blueprintsPersistence.updateBlueprint(blueprint);
+    writes.incrementAndGet();
+  }
+
+  /**
+   * Searches blueprints whose author or name contains the given text.
+   *
+   * @param query the text to search for, ignoring case
+   * @param limit the maximum number of results
+   * @return the matching blueprints, best matches first
+   */
+  public List<BlueprintSummary> searchBlueprints(String query, int limit) {
+    return blueprintsPersistence.searchBlueprints(query, limit);
+  }
+
+  /**
+   * Appends points at the end of an existing blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param points the points to append
+   * @throws BlueprintNotFoundException    if the blueprint doesn't exist
+   * @throws BlueprintPersistenceException if any persistence error occurs
+   */
+  public void appendPoints(String author, String name, List<Point> points)
+      throws BlueprintNotFoundException, BlueprintPersistenceException {
+    blueprintsPersistence.appendPoints(author, name, points);
+    writes.incrementAndGet();
+  }
+
+  /**
+   * Retrieves the geometric metrics of a blueprint. Metrics describe the stored
+   * points, before any filtering.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the metrics of the blueprint
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public BlueprintMetrics getBlueprintMetrics(String author, String name) throws BlueprintNotFoundException {
+    return blueprintsPersistence.getBlueprintMetrics(author, name);
+  }
+
+  /**
+   * Retrieves the aggregated geometric metrics of an author's blueprints.
+   *
+   * @param author the blueprint author
+   * @return the aggregated metrics of the author
+   * @throws BlueprintNotFoundException if no blueprints are found for the given
+   *                                    author
+   */
+  public AuthorMetrics getAuthorMetrics(String author) throws BlueprintNotFoundException {
+    return blueprintsPersistence.getAuthorMetrics(author);
+  }
+
+  /**
+   * Retrieves the stored points of a blueprint, without filtering. Large
+   * blueprints are returned as a view over their storage, so callers can read
+   * any slice without copying the whole list.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the stored points of the blueprint
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public List<Point> getBlueprintPoints(String author, String name) throws BlueprintNotFoundException {
+    List<Point> points = blueprintsPersistence.getBlueprint(author, name).getPoints();
+    return points == null ? new ArrayList<>() : points;
+  }
+
+  /**
+   * Opens a reader over the stored points of a blueprint, without filtering,
+   * so callers can page or stream them range by range from one consistent
+   * version without decoding the whole blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the reader, which the caller must close
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public BlueprintPointsReader openBlueprintPoints(String author, String name) throws BlueprintNotFoundException {
+    return blueprintsPersistence.openBlueprintPoints(author, name);
+  }
+
+  /**
+   * Retrieves a past version of a blueprint as it was stored, without
+   * filtering, so its points are indexed like those of the deltas between
+   * versions and of {@link #getBlueprintPoints}.
+   *
+   * @param author  the blueprint's author
+   * @param name    the blueprint's name
+   * @param version the version number
+   * @return the unfiltered blueprint as it was at the given version
+   * @throws BlueprintNotFoundException if the blueprint or the version is not
+   *                                    found
+   */
+  public Blueprint getBlueprint(String author, String name, long version) throws BlueprintNotFoundException {
+    return blueprintsPersistence.getBlueprint(author, name, version);
+  }
+
+  /**
+   * Retrieves the current version number of a blueprint without reading its
+   * points or history, for keying data derived from it.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the current version number
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public long getBlueprintVersion(String author, String name) throws BlueprintNotFoundException {
+    return blueprintsPersistence.getBlueprintVersion(author, name);
+  }
+
+  /**
+   * Retrieves the kept versions of a blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @return the versions, oldest first
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public List<BlueprintRevision> getBlueprintHistory(String author, String name) throws BlueprintNotFoundException {
+    return blueprintsPersistence.getBlueprintHistory(author, name);
+  }
+
+  /**
+   * Computes the stored points changed between two versions of a blueprint,
+   * without filtering, so applying it to a version retrieved with
+   * {@link #getBlueprint(String, String, long)} yields the other one.
+   *
+   * @param author      the blueprint's author
+   * @param name        the blueprint's name
+   * @param fromVersion the version the delta applies to
+   * @param toVersion   the version the delta produces
+   * @return the delta between both versions
+   * @throws BlueprintNotFoundException if the blueprint or either version is
+   *                                    not found
+   */
+  public BlueprintDelta getBlueprintDelta(String author, String name, long fromVersion, long toVersion)
+      throws BlueprintNotFoundException {
+    return blueprintsPersistence.getBlueprintDelta(author, name, fromVersion, toVersion);
+  }
+
+  /**
+   * Finds the blueprints whose shape is most similar to the given one.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param k      the maximum number of results
+   * @return the most similar blueprints, closest first
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public List<SimilarBlueprint> findSimilarBlueprints(String author, String name, int k)
+      throws BlueprintNotFoundException {
+    return blueprintsPersistence.findSimilarBlueprints(author, name, k);
+  }
+
+  /**
+   * Finds the vertex of a blueprint closest to a location.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param x      the x coordinate of the location
+   * @param y      the y coordinate of the location
+   * @return the closest vertex, or null if the blueprint has no points
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public NearestPoint findNearestPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+    return spatialIndex(author, name).nearest(x, y);
+  }
+
+  /**
+   * Finds the segments of a blueprint crossing or lying inside a rectangle.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param minX   the left edge of the rectangle
+   * @param minY   the top edge of the rectangle
+   * @param maxX   the right edge of the rectangle
+   * @param maxY   the bottom edge of the rectangle
+   * @param limit  the maximum number of segments to return
+   * @return the matching segments
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   */
+  public List<BlueprintSegment> findSegments(String author, String name, int minX, int minY, int maxX, int maxY,
+      int limit) throws BlueprintNotFoundException {
+    return spatialIndex(author, name).segments(minX, minY, maxX, maxY, limit);
+  }
+
+  /**
+   * Gets the spatial index of a blueprint, building it if it is missing or was
+   * built from another version. The version is read before the points, so an
+   * index is never kept for a version older than its points.
+   */
+  private SpatialIndex spatialIndex(String author, String name) throws BlueprintNotFoundException {
+    long version = getBlueprintVersion(author, name);
+    List<String> key = List.of(author, name);
+    SpatialIndex index;
+    synchronized (spatialIndexes) {
+      index = spatialIndexes.get(key);
+    }
+    if (index != null && index.getVersion() == version) {
+      return index;
+    }
+    return spatialBuilds.execute(List.of(author, name, String.valueOf(version)), () -> {
+      SpatialIndex built = new SpatialIndex(getBlueprintPoints(author, name), version);
+      cacheSpatialIndex(key, built);
+      return built;
+    });
+  }
+
+  /**
+   * Caches a spatial index unless a newer version is cached, dropping the
+   * least recently used ones over the byte budget. An index larger than the
+   * whole budget is not cached.
+   */
+  private void cacheSpatialIndex(List<String> key, SpatialIndex index) {
+    synchronized (spatialIndexes) {
+      SpatialIndex replaced = spatialIndexes.get(key);
+      if (replaced != null && replaced.getVersion() > index.getVersion()) {
+        return;
+      }
+      if (replaced != null) {
+        spatialIndexes.remove(key);
+        spatialIndexBytes -= replaced.getBytes();
+      }
+      if (index.getBytes() > maxSpatialIndexBytes) {
+        return;
+      }
+      Iterator<SpatialIndex> eldest = spatialIndexes.values().iterator();
+      while (spatialIndexBytes + index.getBytes() > maxSpatialIndexBytes && eldest.hasNext()) {
+        spatialIndexBytes -= eldest.next().getBytes();
+        eldest.remove();
+      }
+      spatialIndexes.put(key, index);
+      spatialIndexBytes += index.getBytes();
+    }
+  }
+
+  /**
+   * Builds the key identifying identical reads: the operation, its arguments,
+   * the version of the data read and the filter applied to the result.
+   */
+  private List<String> readKey(String operation, String argument, long version) {
+    return List.of(operation, argument, String.valueOf(version), blueprintFilter.getClass().getName());
   }
 }
@@ -0,0 +1,116 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces concurrent identical computations.
+ * The first caller for a key runs the computation; callers arriving while it
+ * is in flight wait on the same future and receive the same result or
+ * exception. Nothing is cached once the computation finishes, so later
+ * callers always see fresh data.
+ *
+ * @param <K> the type of the keys identifying identical computations
+ * @param <V> the type of the computed values
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-28
+ */
+public class SingleFlight<K, V> {
+
+  /**
+   * A computation that may throw a checked exception.
+   *
+   * @param <V> the type of the computed value
+   * @param <E> the type of the checked exception
+   */
+  @FunctionalInterface
+  public interface Call<V, E extends Exception> {
+
+    /**
+     * Runs the computation.
+     *
+     * @return the computed value
+     * @throws E if the computation fails
+     */
+    V call() throws E;
+  }
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong executions = new AtomicLong();
+
+  /**
+   * Runs the computation for the given key, or joins the one already in
+   * flight for it.
+   *
+   * @param <E>  the type of the checked exception of the computation
+   * @param key  the key identifying identical computations
+   * @param call the computation to run if none is in flight
+   * @return the computed value
+   * @throws E if the computation fails
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends Exception> V execute(K key, Call<V, E> call) throws E {
+    calls.incrementAndGet();
+    CompletableFuture<V> mine = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+    if (existing != null) {
+      try {
+        return existing.join();
+      } catch (CompletionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw (E) cause;
+      }
+    }
+
+    executions.incrementAndGet();
+    try {
+      V value = call.call();
+      mine.complete(value);
+      return value;
+    } catch (Exception | Error ex) {
+      mine.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  /**
+   * Gets the number of requested computations.
+   *
+   * @return the number of calls to {@link #execute(Object, Call)}
+   */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  /**
+   * Gets the number of computations actually run.
+   *
+   * @return the number of executions
+   */
+  public long getExecutions() {
+    return executions.get();
+  }
+
+  /**
+   * Gets the fraction of calls served by joining a computation already in
+   * flight.
+   *
+   * @return the coalescing ratio, between 0 and 1
+   */
+  public double getCoalescingRatio() {
+    long total = calls.get();
+    return total == 0 ? 0.0 : 1.0 - (double) executions.get() / total;
+  }
+}
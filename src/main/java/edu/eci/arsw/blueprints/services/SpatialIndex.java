@@ -0,0 +1,328 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.model.BlueprintSegment;
+import edu.eci.arsw.blueprints.model.NearestPoint;
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Static R-tree over the segments of one blueprint.
+ * Segments are sorted along a Hilbert curve and packed bottom-up into nodes
+ * of 16 entries, so the tree is built in O(n log n) and stored in a few flat
+ * int arrays (about 30 bytes per point). Rectangle queries visit only the
+ * nodes overlapping the rectangle and nearest-vertex queries explore nodes
+ * best-first by distance, both in logarithmic time for typical drawings.
+ *
+ * The index is immutable and tied to the blueprint version it was built
+ * from.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-31
+ */
+public class SpatialIndex {
+
+  private static final int NODE_SIZE = 16;
+  private static final int HILBERT_MAX = (1 << 16) - 1;
+
+  private final long version;
+  private final int pointCount;
+  private final int[] coords;
+  private final int[] boxes;
+  private final int[] indices;
+  private final int[] levelEnds;
+
+  /**
+   * Builds the index of a blueprint. Segment {@code i} joins points {@code i}
+   * and {@code i + 1}; a single-point blueprint has one degenerate segment.
+   *
+   * @param points  the blueprint points
+   * @param version the blueprint version the points belong to
+   */
+  public SpatialIndex(List<Point> points, long version) {
+    this.version = version;
+    this.pointCount = points.size();
+    this.coords = new int[2 * pointCount];
+    for (int i = 0; i < pointCount; i++) {
+      Point point = points.get(i);
+      coords[2 * i] = point.getX();
+      coords[2 * i + 1] = point.getY();
+    }
+
+    int segmentCount = pointCount <= 1 ? pointCount : pointCount - 1;
+    List<Integer> ends = new ArrayList<>();
+    int total = 0;
+    int levelSize = segmentCount;
+    while (true) {
+      total += levelSize;
+      ends.add(total);
+      if (levelSize <= 1) {
+        break;
+      }
+      levelSize = (levelSize + NODE_SIZE - 1) / NODE_SIZE;
+    }
+    this.levelEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+    this.boxes = new int[4 * total];
+    this.indices = new int[total];
+    if (segmentCount > 0) {
+      build(segmentCount);
+    }
+  }
+
+  /**
+   * Gets the blueprint version this index was built from.
+   *
+   * @return the blueprint version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the bytes held by the arrays of this index.
+   *
+   * @return the size of the index in bytes
+   */
+  public long getBytes() {
+    return 4L * (coords.length + boxes.length + indices.length + levelEnds.length);
+  }
+
+  /**
+   * Finds the segments crossing or lying inside a rectangle.
+   *
+   * @param minX  the left edge of the rectangle
+   * @param minY  the top edge of the rectangle
+   * @param maxX  the right edge of the rectangle
+   * @param maxY  the bottom edge of the rectangle
+   * @param limit the maximum number of segments to return
+   * @return the matching segments, in no particular order
+   */
+  public List<BlueprintSegment> segments(int minX, int minY, int maxX, int maxY, int limit) {
+    List<BlueprintSegment> result = new ArrayList<>();
+    if (indices.length == 0) {
+      return result;
+    }
+    int[] stack = new int[2 * NODE_SIZE * levelEnds.length + 2];
+    int top = 0;
+    stack[top++] = indices.length - 1;
+    stack[top++] = levelEnds.length - 1;
+    while (top > 0 && result.size() < limit) {
+      int level = stack[--top];
+      int position = stack[--top];
+      if (!overlaps(position, minX, minY, maxX, maxY)) {
+        continue;
+      }
+      if (level == 0) {
+        int segment = indices[position];
+        int next = Math.min(segment + 1, pointCount - 1);
+        if (crosses(coords[2 * segment], coords[2 * segment + 1], coords[2 * next], coords[2 * next + 1],
+            minX, minY, maxX, maxY)) {
+          result.add(new BlueprintSegment(segment, coords[2 * segment], coords[2 * segment + 1], coords[2 * next],
+              coords[2 * next + 1]));
+        }
+        continue;
+      }
+      int first = indices[position];
+      int last = Math.min(first + NODE_SIZE, levelEnds[level - 1]);
+      for (int child = first; child < last; child++) {
+        stack[top++] = child;
+        stack[top++] = level - 1;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds the vertex closest to a location.
+   *
+   * @param x the x coordinate of the location
+   * @param y the y coordinate of the location
+   * @return the closest vertex, or null if the blueprint has no points
+   */
+  public NearestPoint nearest(int x, int y) {
+    if (indices.length == 0) {
+      return null;
+    }
+    PriorityQueue<Candidate> queue = new PriorityQueue<>();
+    queue.add(new Candidate(boxDistance(indices.length - 1, x, y), indices.length - 1, levelEnds.length - 1));
+    while (!queue.isEmpty()) {
+      Candidate candidate = queue.poll();
+      if (candidate.level < 0) {
+        int vertex = candidate.position;
+        return new NearestPoint(vertex, coords[2 * vertex], coords[2 * vertex + 1], Math.sqrt(candidate.distance));
+      }
+      if (candidate.level == 0) {
+        int segment = indices[candidate.position];
+        int next = Math.min(segment + 1, pointCount - 1);
+        queue.add(new Candidate(vertexDistance(segment, x, y), segment, -1));
+        queue.add(new Candidate(vertexDistance(next, x, y), next, -1));
+        continue;
+      }
+      int first = indices[candidate.position];
+      int last = Math.min(first + NODE_SIZE, levelEnds[candidate.level - 1]);
+      for (int child = first; child < last; child++) {
+        queue.add(new Candidate(boxDistance(child, x, y), child, candidate.level - 1));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Fills the leaf level in Hilbert order and packs the upper levels.
+   */
+  private void build(int segmentCount) {
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (int i = 0; i < pointCount; i++) {
+      minX = Math.min(minX, coords[2 * i]);
+      minY = Math.min(minY, coords[2 * i + 1]);
+      maxX = Math.max(maxX, coords[2 * i]);
+      maxY = Math.max(maxY, coords[2 * i + 1]);
+    }
+    double scaleX = maxX > minX ? HILBERT_MAX / ((double) maxX - minX) : 0;
+    double scaleY = maxY > minY ? HILBERT_MAX / ((double) maxY - minY) : 0;
+
+    long[] order = new long[segmentCount];
+    for (int s = 0; s < segmentCount; s++) {
+      int next = Math.min(s + 1, pointCount - 1);
+      double centerX = ((double) coords[2 * s] + coords[2 * next]) / 2;
+      double centerY = ((double) coords[2 * s + 1] + coords[2 * next + 1]) / 2;
+      long hilbert = hilbert((int) ((centerX - minX) * scaleX), (int) ((centerY - minY) * scaleY));
+      // Flipping the sign bit makes the signed sort follow the unsigned key
+      order[s] = (hilbert << 32 | s) ^ Long.MIN_VALUE;
+    }
+    Arrays.sort(order);
+
+    for (int position = 0; position < segmentCount; position++) {
+      int s = (int) order[position];
+      int next = Math.min(s + 1, pointCount - 1);
+      indices[position] = s;
+      setBox(position, Math.min(coords[2 * s], coords[2 * next]), Math.min(coords[2 * s + 1], coords[2 * next + 1]),
+          Math.max(coords[2 * s], coords[2 * next]), Math.max(coords[2 * s + 1], coords[2 * next + 1]));
+    }
+
+    int start = 0;
+    int position = segmentCount;
+    for (int level = 1; level < levelEnds.length; level++) {
+      int end = levelEnds[level - 1];
+      for (int first = start; first < end; first += NODE_SIZE) {
+        int last = Math.min(first + NODE_SIZE, end);
+        int nodeMinX = Integer.MAX_VALUE;
+        int nodeMinY = Integer.MAX_VALUE;
+        int nodeMaxX = Integer.MIN_VALUE;
+        int nodeMaxY = Integer.MIN_VALUE;
+        for (int child = first; child < last; child++) {
+          nodeMinX = Math.min(nodeMinX, boxes[4 * child]);
+          nodeMinY = Math.min(nodeMinY, boxes[4 * child + 1]);
+          nodeMaxX = Math.max(nodeMaxX, boxes[4 * child + 2]);
+          nodeMaxY = Math.max(nodeMaxY, boxes[4 * child + 3]);
+        }
+        indices[position] = first;
+        setBox(position++, nodeMinX, nodeMinY, nodeMaxX, nodeMaxY);
+      }
+      start = end;
+    }
+  }
+
+  private void setBox(int position, int minX, int minY, int maxX, int maxY) {
+    boxes[4 * position] = minX;
+    boxes[4 * position + 1] = minY;
+    boxes[4 * position + 2] = maxX;
+    boxes[4 * position + 3] = maxY;
+  }
+
+  private boolean overlaps(int position, int minX, int minY, int maxX, int maxY) {
+    return boxes[4 * position] <= maxX && boxes[4 * position + 1] <= maxY
+        && boxes[4 * position + 2] >= minX && boxes[4 * position + 3] >= minY;
+  }
+
+  private double boxDistance(int position, int x, int y) {
+    double dx = Math.max(Math.max((double) boxes[4 * position] - x, 0), (double) x - boxes[4 * position + 2]);
+    double dy = Math.max(Math.max((double) boxes[4 * position + 1] - y, 0), (double) y - boxes[4 * position + 3]);
+    return dx * dx + dy * dy;
+  }
+
+  private double vertexDistance(int vertex, int x, int y) {
+    double dx = (double) coords[2 * vertex] - x;
+    double dy = (double) coords[2 * vertex + 1] - y;
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Tells whether a segment crosses a rectangle, clipping it against the
+   * rectangle edges (Liang-Barsky).
+   */
+  private static boolean crosses(int x1, int y1, int x2, int y2, int minX, int minY, int maxX, int maxY) {
+    double dx = (double) x2 - x1;
+    double dy = (double) y2 - y1;
+    double[] p = { -dx, dx, -dy, dy };
+    double[] q = { (double) x1 - minX, (double) maxX - x1, (double) y1 - minY, (double) maxY - y1 };
+    double enter = 0;
+    double exit = 1;
+    for (int i = 0; i < 4; i++) {
+      if (p[i] == 0) {
+        if (q[i] < 0) {
+          return false;
+        }
+      } else {
+        double t = q[i] / p[i];
+        if (p[i] < 0) {
+          enter = Math.max(enter, t);
+        } else {
+          exit = Math.min(exit, t);
+        }
+      }
+    }
+    return enter <= exit;
+  }
+
+  /**
+   * Position of a cell along a Hilbert curve over a 65536 x 65536 grid.
+   */
+  private static long hilbert(int x, int y) {
+    long d = 0;
+    for (int s = 1 << 15; s > 0; s >>= 1) {
+      int rx = (x & s) > 0 ? 1 : 0;
+      int ry = (y & s) > 0 ? 1 : 0;
+      d += (long) s * s * ((3 * rx) ^ ry);
+      if (ry == 0) {
+        if (rx == 1) {
+          x = HILBERT_MAX - x;
+          y = HILBERT_MAX - y;
+        }
+        int swap = x;
+        x = y;
+        y = swap;
+      }
+    }
+    return d;
+  }
+
+  /**
+   * Node, segment or vertex waiting in the nearest-vertex search. Vertices
+   * use level -1 and their index as position.
+   */
+  private static final class Candidate implements Comparable<Candidate> {
+
+    private final double distance;
+    private final int position;
+    private final int level;
+
+    private Candidate(double distance, int position, int level) {
+      this.distance = distance;
+      this.position = position;
+      this.level = level;
+    }
+
+    @Override
+    public int compareTo(Candidate other) {
+      return Double.compare(distance, other.distance);
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.model.Point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service that renders blueprint thumbnails as PNG images.
+ * Blueprints are rasterized headlessly with Java2D on a small dedicated pool
+ * with a bounded queue, so bursts of thumbnail requests never occupy the
+ * request threads; when the queue is full new renders are rejected instead
+ * of piling up. Points falling in the same pixel as the previously drawn one
+ * are skipped, so huge blueprints draw only as many segments as the
+ * thumbnail can show.
+ *
+ * Rendered images are cached by blueprint version and size, evicting the
+ * least recently used ones once their total size exceeds a byte budget.
+ * Concurrent requests for the same thumbnail share one render, and the
+ * points are only loaded by that render, off the request thread.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-02
+ */
+@Service
+public class ThumbnailService {
+
+  private static final Color STROKE_COLOR = new Color(0x33, 0x33, 0x33);
+
+  @Autowired
+  private BlueprintsServices blueprintsServices;
+
+  private final ThreadPoolExecutor renderers;
+  private final long cacheBudget;
+  private final LinkedHashMap<List<String>, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<List<String>, CompletableFuture<byte[]>> rendering = new ConcurrentHashMap<>();
+  private long cacheBytes;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong renders = new AtomicLong();
+
+  /**
+   * Constructs a ThumbnailService.
+   *
+   * @param threads     the number of render threads
+   * @param queue       the number of renders that may wait for a thread
+   * @param cacheBudget the maximum total size of cached images, in bytes
+   */
+  @Autowired
+  public ThumbnailService(@Value("${blueprints.thumbnails.threads:2}") int threads,
+      @Value("${blueprints.thumbnails.queue:64}") int queue,
+      @Value("${blueprints.thumbnails.cache-bytes:16777216}") long cacheBudget) {
+    AtomicInteger count = new AtomicInteger();
+    this.renderers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queue), runnable -> {
+          Thread thread = new Thread(runnable, "thumbnail-renderer-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.cacheBudget = cacheBudget;
+  }
+
+  /**
+   * Sets the blueprint service (used for testing without Spring context).
+   *
+   * @param blueprintsServices the blueprint service to set
+   */
+  public void setBlueprintsServices(BlueprintsServices blueprintsServices) {
+    this.blueprintsServices = blueprintsServices;
+  }
+
+  /**
+   * Registers the thumbnail cache counters and size in the given registry.
+   *
+   * @param registry the meter registry provided by Spring Boot Actuator
+   */
+  @Autowired(required = false)
+  public void setMeterRegistry(MeterRegistry registry) {
+    FunctionCounter.builder("blueprints.thumbnails.hits", hits, AtomicLong::get).register(registry);
+    FunctionCounter.builder("blueprints.thumbnails.renders", renders, AtomicLong::get).register(registry);
+    Gauge.builder("blueprints.thumbnails.cache.bytes", this, ThumbnailService::getCacheBytes).register(registry);
+  }
+
+  /**
+   * Gets the PNG thumbnail of the current version of a blueprint.
+   *
+   * @param author the blueprint's author
+   * @param name   the blueprint's name
+   * @param size   the width and height of the thumbnail, in pixels
+   * @return a future completed with the PNG bytes, or exceptionally with
+   *         BlueprintNotFoundException if the blueprint is deleted before
+   *         it is rendered
+   * @throws BlueprintNotFoundException if no blueprint is found with the given
+   *                                    parameters
+   * @throws java.util.concurrent.RejectedExecutionException if the render
+   *                                    queue is full
+   */
+  public CompletableFuture<byte[]> getThumbnail(String author, String name, int size)
+      throws BlueprintNotFoundException {
+    // Read the version before the points, so a concurrent update can only make
+    // the cached image newer than its key, never older
+    long version = blueprintsServices.getBlueprintVersion(author, name);
+    List<String> key = List.of(author, name, String.valueOf(version), String.valueOf(size));
+
+    byte[] cached;
+    synchronized (cache) {
+      cached = cache.get(key);
+    }
+    if (cached != null) {
+      hits.incrementAndGet();
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    CompletableFuture<byte[]> pending = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = rendering.putIfAbsent(key, pending);
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      // The points are loaded by the renderer too, so neither a coalesced
+      // request nor the request thread ever copies a large blueprint
+      renderers.execute(() -> {
+        try {
+          byte[] png = render(blueprintsServices.getBlueprintPoints(author, name), size);
+          renders.incrementAndGet();
+          store(key, png);
+          pending.complete(png);
+        } catch (BlueprintNotFoundException | RuntimeException ex) {
+          pending.completeExceptionally(ex);
+        } finally {
+          rendering.remove(key, pending);
+        }
+      });
+    } catch (RuntimeException ex) {
+      rendering.remove(key, pending);
+      pending.completeExceptionally(ex);
+      throw ex;
+    }
+    return pending;
+  }
+
+  /**
+   * Gets the total size of the cached images.
+   *
+   * @return the cached bytes
+   */
+  public long getCacheBytes() {
+    synchronized (cache) {
+      return cacheBytes;
+    }
+  }
+
+  /**
+   * Stops the render threads.
+   */
+  @PreDestroy
+  public void shutdown() {
+    renderers.shutdownNow();
+  }
+
+  private void store(List<String> key, byte[] png) {
+    synchronized (cache) {
+      byte[] previous = cache.put(key, png);
+      cacheBytes += png.length - (previous == null ? 0 : previous.length);
+      Iterator<byte[]> eldest = cache.values().iterator();
+      while (cacheBytes > cacheBudget && eldest.hasNext()) {
+        cacheBytes -= eldest.next().length;
+        eldest.remove();
+      }
+    }
+  }
+
+  /**
+   * Draws the blueprint path scaled to fit the image, keeping its aspect
+   * ratio, and encodes it as PNG.
+   */
+  static byte[] render(List<Point> points, int size) {
+    BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      graphics.setColor(STROKE_COLOR);
+      float strokeWidth = Math.max(1f, size / 64f);
+      graphics.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+      if (!points.isEmpty()) {
+        draw(graphics, points, size, strokeWidth);
+      }
+    } finally {
+      graphics.dispose();
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, "png", out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to encode thumbnail", ex);
+    }
+    return out.toByteArray();
+  }
+
+  private static void draw(Graphics2D graphics, List<Point> points, int size, float strokeWidth) {
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (Point point : points) {
+      minX = Math.min(minX, point.getX());
+      minY = Math.min(minY, point.getY());
+      maxX = Math.max(maxX, point.getX());
+      maxY = Math.max(maxY, point.getY());
+    }
+    double padding = strokeWidth + 1;
+    double extent = Math.max(Math.max((double) maxX - minX, (double) maxY - minY), 1);
+    double scale = (size - 2 * padding) / extent;
+    double offsetX = (size - ((double) maxX - minX) * scale) / 2 - minX * scale;
+    double offsetY = (size - ((double) maxY - minY) * scale) / 2 - minY * scale;
+
+    Path2D.Float path = new Path2D.Float();
+    int lastX = (int) Math.round(points.get(0).getX() * scale + offsetX);
+    int lastY = (int) Math.round(points.get(0).getY() * scale + offsetY);
+    path.moveTo(lastX, lastY);
+    path.lineTo(lastX, lastY);
+    for (Point point : points) {
+      int x = (int) Math.round(point.getX() * scale + offsetX);
+      int y = (int) Math.round(point.getY() * scale + offsetY);
+      if (x != lastX || y != lastY) {
+        path.lineTo(x, y);
+        lastX = x;
+        lastY = y;
+      }
+    }
+    graphics.draw(path);
+  }
+}
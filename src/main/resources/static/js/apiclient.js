@@ -3,6 +3,10 @@
  * Provides real API communication with the Spring Boot backend.
  * Implements the same interface as apimock for seamless switching.
  *
+ * GET responses are kept in an LRU cache keyed by URL. Fresh entries are
+ * served without a request; stale ones are revalidated with If-None-Match.
+ * Concurrent identical requests share a single in-flight call.
+ *
  * @author Jesús Pinzón & David Velásquez
  * @version 1.0
  * @since 2025-10-02
@@ -19,6 +23,145 @@ var apiclient = (function () {
    */
   var BASE_URL = "/blueprints";
 
+  /**
+   * Maximum number of cached responses.
+   *
+   * @private
+   * @constant {number}
+   */
+  var CACHE_MAX_ENTRIES = 200;
+
+  /**
+   * Time in milliseconds during which a cached response is used without
+   * contacting the server.
+   *
+   * @private
+   * @constant {number}
+   */
+  var CACHE_FRESH_MS = 30000;
+
+  /**
+   * Cached responses by URL. A Map iterates in insertion order, so the first
+   * key is always the least recently used one.
+   *
+   * @private
+   * @type {Map<string, {data: *, etag: ?string, storedAt: number}>}
+   */
+  var cache = new Map();
+
+  /**
+   * Callbacks waiting for each in-flight GET, by URL.
+   *
+   * @private
+   * @type {Map<string, Array<{success: function, error: function}>>}
+   */
+  var inFlight = new Map();
+
+  /**
+   * Stores a response in the cache, evicting the least recently used entries
+   * when the cache is full.
+   *
+   * @private
+   * @param {string} url - The request URL
+   * @param {*} data - The response data
+   * @param {?string} etag - The ETag sent by the server, if any
+   */
+  var cachePut = function (url, data, etag) {
+    cache.delete(url);
+    cache.set(url, { data: data, etag: etag, storedAt: Date.now() });
+    while (cache.size > CACHE_MAX_ENTRIES) {
+      cache.delete(cache.keys().next().value);
+    }
+  };
+
+  /**
+   * Gets a cached entry and marks it as most recently used.
+   *
+   * @private
+   * @param {string} url - The request URL
+   * @returns {?{data: *, etag: ?string, storedAt: number}} The entry, if any
+   */
+  var cacheGet = function (url) {
+    var entry = cache.get(url);
+    if (entry) {
+      cache.delete(url);
+      cache.set(url, entry);
+    }
+    return entry;
+  };
+
+  /**
+   * Performs a cached, coalesced GET request.
+   * Fresh entries are returned without a request. Otherwise only one request
+   * per URL is in flight at a time, revalidated with the cached ETag when
+   * there is one; every caller waiting on it receives the same result.
+   * A request invalidated while in flight still answers its callers, but its
+   * response is not cached and later calls start a new request.
+   *
+   * @private
+   * @param {string} url - The request URL
+   * @param {function} success - Receives the response data
+   * @param {function} error - Receives the jQuery xhr, status and error
+   */
+  var cachedGet = function (url, success, error) {
+    var entry = cacheGet(url);
+    if (entry && Date.now() - entry.storedAt < CACHE_FRESH_MS) {
+      setTimeout(function () {
+        success(entry.data);
+      }, 0);
+      return;
+    }
+
+    var waiting = inFlight.get(url);
+    if (waiting) {
+      waiting.push({ success: success, error: error });
+      return;
+    }
+    waiting = [{ success: success, error: error }];
+    inFlight.set(url, waiting);
+
+    $.ajax({
+      url: url,
+      type: "GET",
+      headers: entry && entry.etag ? { "If-None-Match": entry.etag } : {},
+      success: function (data, status, xhr) {
+        if (xhr.status === 304 && entry) {
+          data = entry.data;
+        }
+        if (inFlight.get(url) === waiting) {
+          cachePut(url, data, xhr.getResponseHeader("ETag"));
+          inFlight.delete(url);
+        }
+        waiting.forEach(function (callbacks) {
+          callbacks.success(data);
+        });
+      },
+      error: function (xhr, status, err) {
+        if (inFlight.get(url) === waiting) {
+          inFlight.delete(url);
+        }
+        waiting.forEach(function (callbacks) {
+          callbacks.error(xhr, status, err);
+        });
+      }
+    });
+  };
+
+  /**
+   * Drops the cached author listing and blueprint after a write, and detaches
+   * their in-flight requests, which may have been answered before the write.
+   *
+   * @private
+   * @param {string} authname - The author name
+   * @param {string} bpname - The blueprint name
+   */
+  var invalidate = function (authname, bpname) {
+    [BASE_URL + "/" + authname, BASE_URL + "/" + authname + "/" + bpname].forEach(function (url) {
+      cache.delete(url);
+      inFlight.delete(url);
+    });
+  };
+
   /**
    * Retrieves all blueprints for a given author from the REST API.
    *
@@ -27,13 +170,12 @@ var apiclient = (function () {
    * @param {function} callback - Callback function that receives the blueprints array
    */
   var getBlueprintsByAuthor = function (authname, callback) {
-    $.get({
-      url: BASE_URL + "/" + authname,
-      success: function (data) {
+    cachedGet(BASE_URL + "/" + authname,
+      function (data) {
         console.log("Successfully retrieved blueprints for author: " + authname);
         callback(data);
       },
-      error: function (xhr, status, error) {
+      function (xhr, status, error) {
         console.error("Error retrieving blueprints for author: " + authname);
         console.error("Status: " + status + ", Error: " + error);
 
@@ -44,8 +186,7 @@ var apiclient = (function () {
           alert("Error connecting to server. Please try again later.");
           callback(null);
         }
-      }
-    });
+      });
   };
 
   /**
@@ -57,13 +198,12 @@ var apiclient = (function () {
    * @param {function} callback - Callback function that receives the blueprint object
    */
   var getBlueprintsByNameAndAuthor = function (authname, bpname, callback) {
-    $.get({
-      url: BASE_URL + "/" + authname + "/" + bpname,
-      success: function (data) {
+    cachedGet(BASE_URL + "/" + authname + "/" + bpname,
+      function (data) {
         console.log("Successfully retrieved blueprint: " + bpname + " by " + authname);
         callback(data);
       },
-      error: function (xhr, status, error) {
+      function (xhr, status, error) {
         console.error("Error retrieving blueprint: " + bpname + " by " + authname);
         console.error("Status: " + status + ", Error: " + error);
 
@@ -74,8 +214,7 @@ var apiclient = (function () {
           alert("Error connecting to server. Please try again later.");
           callback(null);
         }
-      }
-    });
+      });
   };
 
   /**
@@ -93,6 +232,7 @@ var apiclient = (function () {
       contentType: "application/json; charset=utf-8",
       dataType: "json",
       success: function (data) {
+        invalidate(blueprint.author, blueprint.name);
         console.log("Successfully created blueprint: " + blueprint.name);
         callback(true, data);
       },
@@ -127,6 +267,7 @@ var apiclient = (function () {
       contentType: "application/json; charset=utf-8",
       dataType: "json",
       success: function (data) {
+        invalidate(authname, bpname);
         console.log("Successfully updated blueprint: " + bpname);
         callback(true, data);
       },
@@ -144,10 +285,100 @@ var apiclient = (function () {
     });
   };
 
+  /**
+   * Streams the points of a blueprint from the REST API.
+   * The server sends newline-delimited JSON, one array of points per line;
+   * each array is handed to onChunk as soon as its line is complete.
+   * The returned function aborts the request; once called, neither callback
+   * is invoked again.
+   *
+   * @public
+   * @param {string} authname - The author name
+   * @param {string} bpname - The blueprint name
+   * @param {function} onChunk - Callback that receives each array of points
+   * @param {function} onDone - Callback that receives true on success, false otherwise
+   * @returns {function} Cancels the stream
+   */
+  var getBlueprintPointsStream = function (authname, bpname, onChunk, onDone) {
+    var controller = new AbortController();
+    var cancelled = false;
+
+    fetch(BASE_URL + "/" + authname + "/" + bpname + "/points/stream", { signal: controller.signal })
+      .then(function (response) {
+        if (cancelled) {
+          return;
+        }
+        if (!response.ok) {
+          console.warn("Blueprint not found: " + bpname + " by " + authname);
+          onDone(false);
+          return;
+        }
+
+        var reader = response.body.getReader();
+        var decoder = new TextDecoder();
+        var pending = "";
+
+        var read = function () {
+          return reader.read().then(function (result) {
+            if (cancelled) {
+              return;
+            }
+            pending += decoder.decode(result.value || new Uint8Array(0), { stream: !result.done });
+
+            // Hand over every complete line; keep the partial one for later
+            var lines = pending.split("\n");
+            pending = lines.pop();
+            lines.forEach(function (line) {
+              if (line.length > 0 && !cancelled) {
+                onChunk(JSON.parse(line));
+              }
+            });
+
+            if (result.done) {
+              console.log("Successfully streamed blueprint: " + bpname + " by " + authname);
+              onDone(true);
+              return;
+            }
+            return read();
+          });
+        };
+        return read();
+      })
+      .catch(function (error) {
+        if (cancelled) {
+          return;
+        }
+        console.error("Error streaming blueprint: " + bpname + " by " + authname);
+        console.error(error);
+        onDone(false);
+      });
+
+    return function () {
+      cancelled = true;
+      controller.abort();
+    };
+  };
+
+  /**
+   * Builds the URL of the PNG thumbnail of a blueprint. The server renders
+   * and caches it, so tables can show previews without downloading points.
+   *
+   * @public
+   * @param {string} authname - The author name
+   * @param {string} bpname - The blueprint name
+   * @param {number} size - The width and height of the thumbnail in pixels
+   * @returns {string} The thumbnail URL
+   */
+  var getThumbnailUrl = function (authname, bpname, size) {
+    return BASE_URL + "/" + authname + "/" + bpname + "/thumbnail.png?size=" + size;
+  };
+
   // Public API - same interface as apimock
   return {
     getBlueprintsByAuthor: getBlueprintsByAuthor,
     getBlueprintsByNameAndAuthor: getBlueprintsByNameAndAuthor,
+    getBlueprintPointsStream: getBlueprintPointsStream,
+    getThumbnailUrl: getThumbnailUrl,
     createBlueprint: createBlueprint,
     updateBlueprint: updateBlueprint
   };
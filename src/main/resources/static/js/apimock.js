@@ -155,6 +155,42 @@ var apimock = (function() {
 					return e.name === bpname;
 				})
 			);
+		},
+
+		/**
+		 * Streams the points of a blueprint. The mock delivers all the points
+		 * in a single chunk before returning, so there is nothing to cancel.
+		 *
+		 * @param {string} authname - The author name
+		 * @param {string} bpname - The blueprint name
+		 * @param {function} onChunk - Callback that receives each array of points
+		 * @param {function} onDone - Callback that receives true on success, false otherwise
+		 * @returns {function} Cancels the stream (a no-op)
+		 */
+		getBlueprintPointsStream: function(authname, bpname, onChunk, onDone) {
+			var blueprint = (mockdata[authname] || []).find(function(e) {
+				return e.name === bpname;
+			});
+			if (!blueprint) {
+				onDone(false);
+			} else {
+				onChunk(blueprint.points);
+				onDone(true);
+			}
+			return function() {};
+		},
+
+		/**
+		 * Builds the URL of the thumbnail of a blueprint. The mock has no
+		 * server to render thumbnails, so there is none.
+		 *
+		 * @param {string} authname - The author name
+		 * @param {string} bpname - The blueprint name
+		 * @param {number} size - The width and height of the thumbnail in pixels
+		 * @returns {null} Always null
+		 */
+		getThumbnailUrl: function(authname, bpname, size) {
+			return null;
 		}
 	};
 
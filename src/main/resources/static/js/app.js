@@ -37,6 +37,31 @@ var app = (function () {
      */
     var currentBlueprints = [];
 
+    /**
+     * Width and height in pixels of the blueprint previews in the table.
+     *
+     * @private
+     * @constant {number}
+     */
+    var THUMBNAIL_SIZE = 48;
+
+    /**
+     * Cancels the point stream of the blueprint being drawn, if any.
+     *
+     * @private
+     * @type {?function}
+     */
+    var cancelDraw = null;
+
+    /**
+     * Incremented on every draw, so callbacks of a replaced stream can tell
+     * they are stale.
+     *
+     * @private
+     * @type {number}
+     */
+    var drawToken = 0;
+
     /**
      * Sets the current author name.
      *
@@ -58,61 +83,62 @@ var app = (function () {
     };
 
     /**
-     * Draws a blueprint on the canvas using HTML5 Canvas API.
-     * Retrieves the specific blueprint data and draws connected line segments.
+     * Draws a blueprint on the canvas.
+     * Points are streamed from the API and handed chunk by chunk to the
+     * blueprint renderer, which draws them progressively off the main thread.
+     * Drawing another blueprint cancels the stream of the previous one and
+     * drops any chunk it still delivers.
      *
      * @public
      * @param {string} authorName - The name of the author
      * @param {string} blueprintName - The name of the blueprint to draw
      */
     var drawBlueprint = function (authorName, blueprintName) {
-        // Use the configured API (apimock or apiclient)
-        api.getBlueprintsByNameAndAuthor(authorName, blueprintName, function (blueprint) {
-            if (!blueprint) {
-                alert("Blueprint not found: " + blueprintName + " by " + authorName);
-                return;
-            }
+        var started = false;
+        var token = ++drawToken;
+
+        if (cancelDraw) {
+            cancelDraw();
+            cancelDraw = null;
+        }
+
+        var start = function () {
+            started = true;
 
             // Show canvas section and update the current blueprint display
             $("#canvasContainer").show();
-            $("#currentBlueprintDisplay").text("Current blueprint: " + blueprint.name);
-
-            // Get canvas and context
-            var canvas = document.getElementById("blueprintCanvas");
-            var ctx = canvas.getContext("2d");
+            $("#currentBlueprintDisplay").text("Current blueprint: " + blueprintName);
 
             // Clear the canvas
-            ctx.clearRect(0, 0, canvas.width, canvas.height);
-
-            // Set drawing properties
-            ctx.strokeStyle = "#333";
-            ctx.lineWidth = 2;
-            ctx.lineCap = "round";
-            ctx.lineJoin = "round";
-
-            // Draw the blueprint points as connected lines
-            if (blueprint.points && blueprint.points.length > 0) {
-                ctx.beginPath();
-
-                // Move to the first point
-                ctx.moveTo(blueprint.points[0].x, blueprint.points[0].y);
-
-                // Draw lines to subsequent points
-                for (var i = 1; i < blueprint.points.length; i++) {
-                    ctx.lineTo(blueprint.points[i].x, blueprint.points[i].y);
-                }
-
-                ctx.stroke();
-
-                // Draw points as small circles for better visualization
-                ctx.fillStyle = "#666";
-                for (var j = 0; j < blueprint.points.length; j++) {
-                    ctx.beginPath();
-                    ctx.arc(blueprint.points[j].x, blueprint.points[j].y, 3, 0, 2 * Math.PI);
-                    ctx.fill();
-                }
+            blueprintRenderer.reset();
+        };
+
+        // Use the configured API (apimock or apiclient)
+        var cancel = api.getBlueprintPointsStream(authorName, blueprintName, function (points) {
+            if (token !== drawToken) {
+                return;
+            }
+            if (!started) {
+                start();
+            }
+            if (points && points.length > 0) {
+                blueprintRenderer.appendPoints(points);
+            }
+        }, function (success) {
+            if (token !== drawToken) {
+                return;
+            }
+            cancelDraw = null;
+            if (!success && !started) {
+                alert("Blueprint not found: " + blueprintName + " by " + authorName);
+            } else if (!started) {
+                // Blueprint without points: show it as an empty canvas
+                start();
             }
         });
+        if (token === drawToken) {
+            cancelDraw = cancel;
+        }
     };
 
     /**
@@ -156,7 +182,13 @@ var app = (function () {
 
             // Step 3: Add each blueprint as a row in the table
             currentBlueprints.map(function (blueprint) {
+                var thumbnailUrl = api.getThumbnailUrl(authorName, blueprint.name, THUMBNAIL_SIZE);
                 var row = "<tr>" +
+                    "<td class='thumbnail-cell'>" +
+                    (thumbnailUrl ? "<img class='blueprint-thumbnail' loading='lazy' alt='' " +
+                        "width='" + THUMBNAIL_SIZE + "' height='" + THUMBNAIL_SIZE + "' " +
+                        "src='" + thumbnailUrl + "'>" : "") +
+                    "</td>" +
                     "<td>" + blueprint.name + "</td>" +
                     "<td>" + blueprint.points + "</td>" +
                     "<td><button class='blueprint-btn' " +
@@ -185,6 +217,9 @@ var app = (function () {
      * @public
      */
     var init = function () {
+        // Attach the renderer to the blueprint canvas
+        blueprintRenderer.init(document.getElementById("blueprintCanvas"));
+
         // Attach click event to the "Get blueprints" button
         $("#getBlueprintsBtn").click(function () {
             var authorName = $("#authorInput").val().trim();
@@ -0,0 +1,259 @@
+/**
+ * Blueprint rendering engine.
+ * Draws a blueprint kept as a packed Int32Array of x, y coordinates on a 2D
+ * canvas context. The view is split into 256px tiles that are cached per zoom
+ * level; each tile remembers how many points it already drew, so appended
+ * points and newly exposed tiles are rendered incrementally, a bounded number
+ * of points per animation frame. Points that fall in the same pixel as the
+ * previously drawn point are skipped.
+ *
+ * The same code runs on the main thread or inside render-worker.js with an
+ * OffscreenCanvas.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-27
+ *
+ * @module render-engine
+ */
+var BlueprintRenderEngine = (function () {
+
+    /**
+     * Size in pixels of a cached tile.
+     *
+     * @private
+     * @constant {number}
+     */
+    var TILE_SIZE = 256;
+
+    /**
+     * Maximum number of cached tiles, across zoom levels.
+     *
+     * @private
+     * @constant {number}
+     */
+    var MAX_TILES = 96;
+
+    /**
+     * Maximum number of points rendered per animation frame.
+     *
+     * @private
+     * @constant {number}
+     */
+    var POINTS_PER_FRAME = 200000;
+
+    /**
+     * Vertices are marked with a dot only for the first points, since dots
+     * on huge blueprints would cover the lines.
+     *
+     * @private
+     * @constant {number}
+     */
+    var DOT_LIMIT = 2000;
+
+    /**
+     * Creates a rendering engine for the given canvas.
+     *
+     * @public
+     * @param {HTMLCanvasElement|OffscreenCanvas} canvas - The target canvas
+     * @param {function} createSurface - Creates a tile canvas of the given width and height
+     * @param {function} requestFrame - Schedules a callback for the next frame
+     */
+    var Engine = function (canvas, createSurface, requestFrame) {
+        this.canvas = canvas;
+        this.ctx = canvas.getContext("2d");
+        this.createSurface = createSurface;
+        this.requestFrame = requestFrame;
+        this.coords = new Int32Array(2048);
+        this.count = 0;
+        this.scale = 1;
+        this.offsetX = 0;
+        this.offsetY = 0;
+        this.tiles = new Map();
+        this.scheduled = false;
+    };
+
+    /**
+     * Removes the current blueprint and resets the view.
+     *
+     * @public
+     */
+    Engine.prototype.reset = function () {
+        this.count = 0;
+        this.scale = 1;
+        this.offsetX = 0;
+        this.offsetY = 0;
+        this.tiles.clear();
+        this.schedule();
+    };
+
+    /**
+     * Appends packed points to the current blueprint.
+     *
+     * @public
+     * @param {Int32Array} packed - Consecutive x, y coordinates
+     */
+    Engine.prototype.append = function (packed) {
+        var needed = this.count * 2 + packed.length;
+        if (needed > this.coords.length) {
+            var capacity = this.coords.length;
+            while (capacity < needed) {
+                capacity *= 2;
+            }
+            var grown = new Int32Array(capacity);
+            grown.set(this.coords.subarray(0, this.count * 2));
+            this.coords = grown;
+        }
+        this.coords.set(packed, this.count * 2);
+        this.count += packed.length / 2;
+        this.schedule();
+    };
+
+    /**
+     * Changes the zoom and pan of the view. Tiles of other zoom levels stay
+     * cached, so zooming back is immediate.
+     *
+     * @public
+     * @param {number} scale - Screen pixels per blueprint unit
+     * @param {number} offsetX - Horizontal pan, in screen pixels
+     * @param {number} offsetY - Vertical pan, in screen pixels
+     */
+    Engine.prototype.setView = function (scale, offsetX, offsetY) {
+        this.scale = scale;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.schedule();
+    };
+
+    /**
+     * Requests a frame unless one is already pending.
+     *
+     * @private
+     */
+    Engine.prototype.schedule = function () {
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.requestFrame(this.frame.bind(this));
+        }
+    };
+
+    /**
+     * Renders pending work on the visible tiles within the frame budget and
+     * composes them on the canvas. Schedules another frame while any visible
+     * tile is incomplete.
+     *
+     * @private
+     */
+    Engine.prototype.frame = function () {
+        this.scheduled = false;
+        var budget = POINTS_PER_FRAME;
+        var pending = false;
+        var firstX = Math.floor(this.offsetX / TILE_SIZE);
+        var lastX = Math.floor((this.offsetX + this.canvas.width - 1) / TILE_SIZE);
+        var firstY = Math.floor(this.offsetY / TILE_SIZE);
+        var lastY = Math.floor((this.offsetY + this.canvas.height - 1) / TILE_SIZE);
+
+        this.ctx.clearRect(0, 0, this.canvas.width, this.canvas.height);
+        for (var ty = firstY; ty <= lastY; ty++) {
+            for (var tx = firstX; tx <= lastX; tx++) {
+                var tile = this.tile(tx, ty);
+                if (tile.rendered < this.count && budget > 0) {
+                    budget -= this.renderTile(tile, budget);
+                }
+                if (tile.rendered < this.count) {
+                    pending = true;
+                }
+                this.ctx.drawImage(tile.surface, tx * TILE_SIZE - this.offsetX, ty * TILE_SIZE - this.offsetY);
+            }
+        }
+        if (pending) {
+            this.schedule();
+        }
+    };
+
+    /**
+     * Gets a cached tile of the current zoom level, creating it if needed and
+     * evicting the least recently used tile when the cache is full.
+     *
+     * @private
+     * @param {number} tx - Tile column
+     * @param {number} ty - Tile row
+     * @returns {Object} The tile
+     */
+    Engine.prototype.tile = function (tx, ty) {
+        var key = this.scale + ":" + tx + ":" + ty;
+        var tile = this.tiles.get(key);
+        if (tile) {
+            this.tiles.delete(key);
+        } else {
+            var surface = this.createSurface(TILE_SIZE, TILE_SIZE);
+            var ctx = surface.getContext("2d");
+            ctx.strokeStyle = "#333";
+            ctx.fillStyle = "#666";
+            ctx.lineWidth = 2;
+            ctx.lineCap = "round";
+            ctx.lineJoin = "round";
+            tile = { surface: surface, ctx: ctx, tx: tx, ty: ty, rendered: 0 };
+            while (this.tiles.size >= MAX_TILES) {
+                this.tiles.delete(this.tiles.keys().next().value);
+            }
+        }
+        this.tiles.set(key, tile);
+        return tile;
+    };
+
+    /**
+     * Continues drawing a tile from the last point it rendered. Segments that
+     * lie entirely on one side outside the tile are skipped, and so are points
+     * landing on the same pixel as the previously drawn point.
+     *
+     * @private
+     * @param {Object} tile - The tile to render
+     * @param {number} budget - Maximum number of points to process
+     * @returns {number} The number of points processed
+     */
+    Engine.prototype.renderTile = function (tile, budget) {
+        var coords = this.coords;
+        var scale = this.scale;
+        var originX = tile.tx * TILE_SIZE;
+        var originY = tile.ty * TILE_SIZE;
+        var ctx = tile.ctx;
+        var start = Math.max(tile.rendered - 1, 0);
+        var end = Math.min(this.count, tile.rendered + budget);
+
+        var prevX = Math.round(coords[2 * start] * scale) - originX;
+        var prevY = Math.round(coords[2 * start + 1] * scale) - originY;
+        ctx.beginPath();
+        ctx.moveTo(prevX, prevY);
+        for (var i = start + 1; i < end; i++) {
+            var x = Math.round(coords[2 * i] * scale) - originX;
+            var y = Math.round(coords[2 * i + 1] * scale) - originY;
+            if (x === prevX && y === prevY) {
+                continue;
+            }
+            var outside = (x < 0 && prevX < 0) || (y < 0 && prevY < 0)
+                || (x > TILE_SIZE && prevX > TILE_SIZE) || (y > TILE_SIZE && prevY > TILE_SIZE);
+            if (outside) {
+                ctx.moveTo(x, y);
+            } else {
+                ctx.lineTo(x, y);
+            }
+            prevX = x;
+            prevY = y;
+        }
+        ctx.stroke();
+
+        for (var j = tile.rendered; j < Math.min(end, DOT_LIMIT); j++) {
+            ctx.beginPath();
+            ctx.arc(coords[2 * j] * scale - originX, coords[2 * j + 1] * scale - originY, 3, 0, 2 * Math.PI);
+            ctx.fill();
+        }
+
+        var processed = end - tile.rendered;
+        tile.rendered = end;
+        return processed;
+    };
+
+    return Engine;
+
+})();
@@ -0,0 +1,43 @@
+/**
+ * Web Worker hosting the blueprint rendering engine.
+ * Receives an OffscreenCanvas transferred by renderer.js and builds every
+ * path off the main thread, so huge blueprints never block the page.
+ *
+ * Messages: {type: "init", canvas}, {type: "reset"},
+ * {type: "append", points: Int32Array} and {type: "view", scale, offsetX, offsetY}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-27
+ *
+ * @module render-worker
+ */
+importScripts("render-engine.js");
+
+var engine = null;
+
+var requestFrame = self.requestAnimationFrame
+    ? self.requestAnimationFrame.bind(self)
+    : function (callback) {
+        return setTimeout(callback, 16);
+    };
+
+self.onmessage = function (event) {
+    var message = event.data;
+    switch (message.type) {
+        case "init":
+            engine = new BlueprintRenderEngine(message.canvas, function (width, height) {
+                return new OffscreenCanvas(width, height);
+            }, requestFrame);
+            break;
+        case "reset":
+            engine.reset();
+            break;
+        case "append":
+            engine.append(message.points);
+            break;
+        case "view":
+            engine.setView(message.scale, message.offsetX, message.offsetY);
+            break;
+    }
+};
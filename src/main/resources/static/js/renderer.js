@@ -0,0 +1,172 @@
+/**
+ * Blueprint renderer module.
+ * Owns the blueprint canvas: packs incoming points into Int32Arrays and hands
+ * them to the rendering engine, which runs in a Web Worker on an
+ * OffscreenCanvas when the browser supports it and on the main thread
+ * otherwise. Also implements zoom (mouse wheel), pan (drag) and view reset
+ * (double click).
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-27
+ *
+ * @module renderer
+ */
+var blueprintRenderer = (function () {
+
+    /**
+     * Zoom factor applied per wheel step.
+     *
+     * @private
+     * @constant {number}
+     */
+    var ZOOM_STEP = 1.25;
+
+    /**
+     * Worker running the engine, or null when rendering on the main thread.
+     *
+     * @private
+     * @type {?Worker}
+     */
+    var worker = null;
+
+    /**
+     * Engine instance used when rendering on the main thread.
+     *
+     * @private
+     * @type {?Object}
+     */
+    var engine = null;
+
+    /**
+     * Current view: screen pixels per blueprint unit and pan in screen pixels.
+     *
+     * @private
+     * @type {{scale: number, offsetX: number, offsetY: number}}
+     */
+    var view = { scale: 1, offsetX: 0, offsetY: 0 };
+
+    /**
+     * Sends a command to the engine, wherever it runs.
+     *
+     * @private
+     * @param {Object} message - The command
+     * @param {Array} [transfer] - Buffers to transfer to the worker
+     */
+    var send = function (message, transfer) {
+        if (worker) {
+            worker.postMessage(message, transfer || []);
+            return;
+        }
+        switch (message.type) {
+            case "reset":
+                engine.reset();
+                break;
+            case "append":
+                engine.append(message.points);
+                break;
+            case "view":
+                engine.setView(message.scale, message.offsetX, message.offsetY);
+                break;
+        }
+    };
+
+    /**
+     * Publishes the current view to the engine.
+     *
+     * @private
+     */
+    var updateView = function () {
+        send({ type: "view", scale: view.scale, offsetX: view.offsetX, offsetY: view.offsetY });
+    };
+
+    /**
+     * Attaches the renderer to a canvas. Must be called once, before any
+     * other function, since the canvas may be transferred to a worker.
+     *
+     * @public
+     * @param {HTMLCanvasElement} canvas - The blueprint canvas
+     */
+    var init = function (canvas) {
+        if (window.Worker && canvas.transferControlToOffscreen) {
+            var offscreen = canvas.transferControlToOffscreen();
+            worker = new Worker("js/render-worker.js");
+            worker.postMessage({ type: "init", canvas: offscreen }, [offscreen]);
+        } else {
+            engine = new BlueprintRenderEngine(canvas, function (width, height) {
+                var surface = document.createElement("canvas");
+                surface.width = width;
+                surface.height = height;
+                return surface;
+            }, window.requestAnimationFrame.bind(window));
+        }
+
+        // Zoom around the cursor position
+        canvas.addEventListener("wheel", function (event) {
+            event.preventDefault();
+            var rect = canvas.getBoundingClientRect();
+            var mouseX = event.clientX - rect.left;
+            var mouseY = event.clientY - rect.top;
+            var factor = event.deltaY < 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+            view.offsetX = (view.offsetX + mouseX) * factor - mouseX;
+            view.offsetY = (view.offsetY + mouseY) * factor - mouseY;
+            view.scale *= factor;
+            updateView();
+        }, { passive: false });
+
+        // Pan by dragging
+        var dragging = null;
+        canvas.addEventListener("mousedown", function (event) {
+            dragging = { x: event.clientX, y: event.clientY };
+        });
+        window.addEventListener("mousemove", function (event) {
+            if (dragging) {
+                view.offsetX -= event.clientX - dragging.x;
+                view.offsetY -= event.clientY - dragging.y;
+                dragging = { x: event.clientX, y: event.clientY };
+                updateView();
+            }
+        });
+        window.addEventListener("mouseup", function () {
+            dragging = null;
+        });
+
+        // Back to the original view
+        canvas.addEventListener("dblclick", function () {
+            view = { scale: 1, offsetX: 0, offsetY: 0 };
+            updateView();
+        });
+    };
+
+    /**
+     * Clears the canvas and resets the view for a new blueprint.
+     *
+     * @public
+     */
+    var reset = function () {
+        view = { scale: 1, offsetX: 0, offsetY: 0 };
+        send({ type: "reset" });
+    };
+
+    /**
+     * Appends a chunk of points to the blueprint being drawn.
+     *
+     * @public
+     * @param {Array<{x: number, y: number}>} points - The points to append
+     */
+    var appendPoints = function (points) {
+        var packed = new Int32Array(points.length * 2);
+        for (var i = 0; i < points.length; i++) {
+            packed[2 * i] = points[i].x;
+            packed[2 * i + 1] = points[i].y;
+        }
+        send({ type: "append", points: packed }, [packed.buffer]);
+    };
+
+    return {
+        init: init,
+        reset: reset,
+        appendPoints: appendPoints
+    };
+
+})();
@@ -0,0 +1,89 @@
+package edu.eci.arsw.blueprints.test.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.eci.arsw.blueprints.config.ConcurrencyLimitFilter;
+import edu.eci.arsw.blueprints.config.GradientConcurrencyLimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests for the request classes and slot bookkeeping of
+ * {@link ConcurrencyLimitFilter}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-28
+ */
+public class ConcurrencyLimitFilterTests {
+
+  private final GradientConcurrencyLimit cheap = new GradientConcurrencyLimit("cheap", 1, 1);
+  private final GradientConcurrencyLimit expensive = new GradientConcurrencyLimit("expensive", 1, 1);
+  private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(cheap, expensive, 0, 1);
+
+  @Test
+  public void asyncRequestsHoldTheirSlotUntilTheResponseCompletes() throws Exception {
+    MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/blueprints/john/house/points/stream");
+    stream.setAsyncSupported(true);
+    filter.doFilter(stream, new MockHttpServletResponse(), (request, response) -> stream.startAsync());
+    assertEquals(1, expensive.getInFlight());
+
+    MockHttpServletResponse shed = new MockHttpServletResponse();
+    AtomicInteger calls = new AtomicInteger();
+    filter.doFilter(new MockHttpServletRequest("GET", "/blueprints/john/house/points/stream"), shed,
+        (request, response) -> calls.incrementAndGet());
+    assertEquals(0, calls.get());
+    assertEquals(503, shed.getStatus());
+    assertEquals("1", shed.getHeader("Retry-After"));
+
+    ((MockAsyncContext) stream.getAsyncContext()).complete();
+    assertEquals(0, expensive.getInFlight());
+    filter.doFilter(new MockHttpServletRequest("GET", "/blueprints/john/house/points/stream"),
+        new MockHttpServletResponse(), (request, response) -> calls.incrementAndGet());
+    assertEquals(1, calls.get());
+    assertEquals(0, expensive.getInFlight());
+  }
+
+  @Test
+  public void requestsAreClassifiedByTheWorkTheyDo() throws Exception {
+    assertEquals("expensive", classOf("GET", "/blueprints"));
+    assertEquals("expensive", classOf("GET", "/blueprints/john"));
+    assertEquals("expensive", classOf("POST", "/blueprints/john/house/points"));
+    assertEquals("expensive", classOf("GET", "/blueprints/john/house/nearest"));
+    assertEquals("expensive", classOf("GET", "/blueprints/john/house/segments"));
+    assertEquals("expensive", classOf("GET", "/blueprints/john/house/thumbnail.png"));
+    assertEquals("cheap", classOf("GET", "/blueprints/john/house"));
+    assertEquals("cheap", classOf("GET", "/blueprints/john/house/points"));
+    assertEquals("cheap", classOf("GET", "/blueprints/search"));
+    assertEquals("cheap", classOf("GET", "/blueprints/metrics/john"));
+    assertEquals("cheap", classOf("POST", "/blueprints"));
+  }
+
+  @Test
+  public void failingRequestsReleaseTheirSlot() {
+    FilterChain failing = (request, response) -> {
+      throw new IllegalStateException("boom");
+    };
+    assertThrows(IllegalStateException.class, () -> filter.doFilter(
+        new MockHttpServletRequest("GET", "/blueprints/john/house"), new MockHttpServletResponse(), failing));
+    assertEquals(0, cheap.getInFlight());
+  }
+
+  /**
+   * Runs a request through the filter and tells which limit it held.
+   */
+  private String classOf(String method, String uri) throws Exception {
+    String[] held = new String[1];
+    filter.doFilter(new MockHttpServletRequest(method, uri), new MockHttpServletResponse(), (request, response) -> {
+      held[0] = expensive.getInFlight() == 1 ? expensive.getName() : cheap.getName();
+    });
+    assertEquals(0, cheap.getInFlight() + expensive.getInFlight());
+    return held[0];
+  }
+}
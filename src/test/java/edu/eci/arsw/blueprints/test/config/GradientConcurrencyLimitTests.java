@@ -0,0 +1,80 @@
+package edu.eci.arsw.blueprints.test.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.arsw.blueprints.config.GradientConcurrencyLimit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the adaptive {@link GradientConcurrencyLimit}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-28
+ */
+public class GradientConcurrencyLimitTests {
+
+  private static final long MILLISECOND = 1_000_000L;
+
+  @Test
+  public void requestsOverTheLimitAreShedUntilASlotIsReleased() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit("test", 2, 10);
+    assertTrue(limit.tryAcquire());
+    assertTrue(limit.tryAcquire());
+    assertFalse(limit.tryAcquire());
+    assertEquals(1, limit.getRejected());
+    assertEquals(2, limit.getInFlight());
+
+    limit.release(MILLISECOND, false);
+    assertTrue(limit.tryAcquire());
+    assertEquals(2, limit.getInFlight());
+  }
+
+  @Test
+  public void limitGrowsWithSteadyLatencyAndShrinksWhenItRises() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit("test", 10, 100);
+    for (int round = 0; round < 50; round++) {
+      saturate(limit, MILLISECOND);
+    }
+    int grown = limit.getLimit();
+    assertTrue(grown > 10, "limit " + grown);
+
+    for (int round = 0; round < 10; round++) {
+      saturate(limit, 10 * MILLISECOND);
+    }
+    assertTrue(limit.getLimit() < grown, "limit " + limit.getLimit() + " of " + grown);
+    assertEquals(0, limit.getInFlight());
+  }
+
+  @Test
+  public void failuresBackOffDownToOneRequest() {
+    GradientConcurrencyLimit limit = new GradientConcurrencyLimit("test", 50, 100);
+    int previous = limit.getLimit();
+    for (int i = 0; i < 2000; i++) {
+      assertTrue(limit.tryAcquire());
+      limit.release(MILLISECOND, true);
+      assertTrue(limit.getLimit() <= previous);
+      previous = limit.getLimit();
+    }
+    assertEquals(1, limit.getLimit());
+    assertTrue(limit.tryAcquire());
+    assertFalse(limit.tryAcquire());
+  }
+
+  /**
+   * Fills every slot of the limit and releases them all with the given
+   * latency.
+   */
+  private static void saturate(GradientConcurrencyLimit limit, long rttNanos) {
+    int acquired = 0;
+    while (limit.tryAcquire()) {
+      acquired++;
+    }
+    for (int i = 0; i < acquired; i++) {
+      limit.release(rttNanos, false);
+    }
+  }
+}
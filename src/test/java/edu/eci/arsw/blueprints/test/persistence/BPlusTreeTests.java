@@ -0,0 +1,196 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.arsw.blueprints.persistence.impl.BPlusTree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the file-backed {@link BPlusTree}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-04
+ */
+public class BPlusTreeTests {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void leafAndInternalSplitsKeepEveryKeyInOrder() {
+    TreeMap<byte[], int[]> expected = new TreeMap<>(Arrays::compareUnsigned);
+    Random random = new Random(42);
+    try (BPlusTree tree = new BPlusTree(directory.resolve("tree.db"))) {
+      // About 60 entries fit in a leaf, so 10000 keys need several levels
+      for (int i = 0; i < 10000; i++) {
+        byte[] key = new byte[8 + random.nextInt(40)];
+        random.nextBytes(key);
+        int[] coordinates = { i, -i };
+        assertTrue(tree.put(key, coordinates, null));
+        expected.put(key, coordinates);
+      }
+      assertEquals(expected.size(), tree.size());
+      for (Map.Entry<byte[], int[]> entry : expected.entrySet()) {
+        assertArrayEquals(entry.getValue(), tree.get(entry.getKey()));
+      }
+      List<byte[]> keys = new ArrayList<>();
+      tree.scan(null, null, (key, coordinates) -> keys.add(key));
+      assertEquals(expected.size(), keys.size());
+      int i = 0;
+      for (byte[] key : expected.keySet()) {
+        assertArrayEquals(key, keys.get(i++));
+      }
+      assertNull(tree.get(new byte[] { 0 }));
+    }
+  }
+
+  @Test
+  public void rangeScanReturnsExactlyTheKeysInRange() {
+    TreeMap<byte[], int[]> expected = new TreeMap<>(Arrays::compareUnsigned);
+    Random random = new Random(7);
+    try (BPlusTree tree = new BPlusTree(directory.resolve("tree.db"))) {
+      for (int i = 0; i < 5000; i++) {
+        byte[] key = new byte[1 + random.nextInt(6)];
+        for (int b = 0; b < key.length; b++) {
+          key[b] = (byte) random.nextInt(4);
+        }
+        tree.put(key, new int[] { i, i }, null);
+        expected.put(key, new int[] { i, i });
+      }
+      List<byte[]> bounds = new ArrayList<>(expected.keySet());
+      for (int q = 0; q < 100; q++) {
+        byte[] from = bounds.get(random.nextInt(bounds.size()));
+        byte[] to = bounds.get(random.nextInt(bounds.size()));
+        if (Arrays.compareUnsigned(from, to) > 0) {
+          byte[] swap = from;
+          from = to;
+          to = swap;
+        }
+        List<byte[]> keys = new ArrayList<>();
+        tree.scan(from, to, (key, coordinates) -> keys.add(key));
+        List<byte[]> inRange = new ArrayList<>(expected.subMap(from, to).keySet());
+        assertEquals(inRange.size(), keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+          assertArrayEquals(inRange.get(i), keys.get(i));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void metadataIsStoredNextToTheValue() {
+    try (BPlusTree tree = new BPlusTree(directory.resolve("tree.db"))) {
+      tree.put(new byte[] { 1 }, new int[] { 1, 2 }, new byte[] { 9, 8, 7 });
+      tree.put(new byte[] { 2 }, new int[0], null);
+      assertFalse(tree.put(new byte[] { 1 }, new int[] { 3, 4 }, new byte[] { 6 }));
+      List<byte[]> metadata = new ArrayList<>();
+      tree.scanMetadata(null, null, (key, value) -> metadata.add(value));
+      assertEquals(2, metadata.size());
+      assertArrayEquals(new byte[] { 6 }, metadata.get(0));
+      assertArrayEquals(new byte[0], metadata.get(1));
+      assertArrayEquals(new int[] { 3, 4 }, tree.get(new byte[] { 1 }));
+    }
+  }
+
+  @Test
+  public void reopenRebuildsFreeRunsAndReusesThem() {
+    Path file = directory.resolve("tree.db");
+    int[] large = new int[2 * 4000];
+    long pages;
+    try (BPlusTree tree = new BPlusTree(file)) {
+      for (int i = 0; i < 50; i++) {
+        tree.put(new byte[] { (byte) i }, large, null);
+      }
+      for (int i = 0; i < 50; i++) {
+        tree.put(new byte[] { (byte) i }, new int[] { i, i }, null);
+      }
+      pages = tree.getPageCount();
+    }
+    try (BPlusTree tree = new BPlusTree(file)) {
+      assertEquals(50, tree.size());
+      assertEquals(pages, tree.getPageCount());
+      assertTrue(tree.getFreePages() >= 40 * 8, "free pages " + tree.getFreePages());
+      for (int i = 0; i < 50; i++) {
+        assertArrayEquals(new int[] { i, i }, tree.get(new byte[] { (byte) i }));
+      }
+      for (int i = 0; i < 40; i++) {
+        tree.put(new byte[] { (byte) i }, large, null);
+      }
+      assertEquals(pages, tree.getPageCount());
+    }
+  }
+
+  @Test
+  public void updatedValuesReuseTheirSpace() {
+    try (BPlusTree tree = new BPlusTree(directory.resolve("tree.db"))) {
+      int[] coordinates = new int[2 * 5000];
+      tree.put(new byte[] { 1 }, coordinates, null);
+      long pages = tree.getPageCount();
+      for (int i = 0; i < 100; i++) {
+        coordinates[0] = i;
+        tree.put(new byte[] { 1 }, coordinates, null);
+      }
+      // The previous value and pages are reused once the next write commits
+      assertTrue(tree.getPageCount() <= 2 * pages + 2, "pages " + tree.getPageCount());
+      assertEquals(99, tree.get(new byte[] { 1 })[0]);
+    }
+  }
+
+  @Test
+  public void valueReaderKeepsTheValueItOpenedAcrossUpdates() {
+    try (BPlusTree tree = new BPlusTree(directory.resolve("tree.db"))) {
+      int[] coordinates = new int[2 * 5000];
+      for (int i = 0; i < coordinates.length; i++) {
+        coordinates[i] = i;
+      }
+      tree.put(new byte[] { 1 }, coordinates, null);
+      try (BPlusTree.ValueReader reader = tree.openValue(new byte[] { 1 })) {
+        for (int i = 0; i < 20; i++) {
+          tree.put(new byte[] { 1 }, new int[2 * 5000], null);
+        }
+        assertEquals(5000, reader.size());
+        assertArrayEquals(new int[] { 8000, 8001, 8002, 8003 }, reader.read(4000, 2));
+        assertArrayEquals(new int[] { 9998, 9999 }, reader.read(4999, 10));
+        assertArrayEquals(new int[0], reader.read(6000, 10));
+      }
+      assertNull(tree.openValue(new byte[] { 2 }));
+    }
+  }
+
+  @Test
+  public void tornHeaderFallsBackToThePreviousCommit() throws IOException {
+    Path file = directory.resolve("tree.db");
+    try (BPlusTree tree = new BPlusTree(file)) {
+      tree.put(new byte[] { 1 }, new int[] { 1, 1 }, null);
+      tree.put(new byte[] { 2 }, new int[] { 2, 2 }, null);
+    }
+    // Creation commits generation 1 and each put one more, so the last put
+    // is generation 3, in the header slot at the middle of the first page
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), BPlusTree.PAGE_SIZE / 2 + 20);
+    }
+    try (BPlusTree tree = new BPlusTree(file)) {
+      assertEquals(1, tree.size());
+      assertArrayEquals(new int[] { 1, 1 }, tree.get(new byte[] { 1 }));
+      assertNull(tree.get(new byte[] { 2 }));
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
+import edu.eci.arsw.blueprints.persistence.impl.BTreeBlueprintPersistence;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BTreeBlueprintPersistence}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-04
+ */
+public class BTreeBlueprintPersistenceTests {
+
+  @TempDir
+  Path directory;
+
+  private BTreeBlueprintPersistence persistence;
+
+  @BeforeEach
+  public void open() {
+    persistence = new BTreeBlueprintPersistence(directory.resolve("blueprints.db"));
+  }
+
+  @AfterEach
+  public void close() {
+    persistence.close();
+  }
+
+  @Test
+  public void authorScanMatchesOnlyThatAuthorWithZeroAndOneBytes() throws Exception {
+    String[] authors = { "a", "a\u0000", "a\u0000b", "a\u0001", "ab", "" };
+    for (String author : authors) {
+      for (String name : new String[] { "x", "\u0000", "\u0001y", "x\u0000\u0001" }) {
+        persistence.saveBlueprint(new Blueprint(author, name, square(1)));
+      }
+    }
+    for (String author : authors) {
+      Set<String> names = new TreeSet<>();
+      for (Blueprint blueprint : persistence.getBlueprintsByAuthor(author)) {
+        assertEquals(author, blueprint.getAuthor());
+        names.add(blueprint.getName());
+      }
+      assertEquals(Set.of("x", "\u0000", "\u0001y", "x\u0000\u0001"), names);
+    }
+    assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("a\u0000\u0000"));
+    assertEquals(4 * authors.length, persistence.getAllBlueprints().size());
+  }
+
+  @Test
+  public void reopenRestoresMetricsAndShapesFromMetadata() throws Exception {
+    persistence.saveBlueprint(new Blueprint("ana", "small", square(2)));
+    persistence.saveBlueprint(new Blueprint("ana", "large", square(50)));
+    persistence.saveBlueprint(new Blueprint("ana", "dot", List.of(new Point(3, 3))));
+    persistence.appendPoints("ana", "small", List.of(new Point(1, 1)));
+    BlueprintMetrics metrics = persistence.getBlueprintMetrics("ana", "small");
+    List<SimilarBlueprint> similar = persistence.findSimilarBlueprints("ana", "large", 5);
+
+    persistence.close();
+    persistence = new BTreeBlueprintPersistence(directory.resolve("blueprints.db"));
+
+    BlueprintMetrics restored = persistence.getBlueprintMetrics("ana", "small");
+    assertEquals(metrics.getPointCount(), restored.getPointCount());
+    assertEquals(metrics.getPathLength(), restored.getPathLength());
+    assertEquals(metrics.getArea(), restored.getArea());
+    assertEquals(1, persistence.getBlueprintMetrics("ana", "dot").getPointCount());
+    List<SimilarBlueprint> restoredSimilar = persistence.findSimilarBlueprints("ana", "large", 5);
+    assertEquals(similar.size(), restoredSimilar.size());
+    assertEquals(similar.get(0).getName(), restoredSimilar.get(0).getName());
+    assertEquals(similar.get(0).getDistance(), restoredSimilar.get(0).getDistance());
+    assertEquals(3, persistence.getEntryCount());
+
+    persistence.appendPoints("ana", "small", List.of(new Point(7, 7)));
+    BlueprintMetrics appended = persistence.getBlueprintMetrics("ana", "small");
+    BlueprintMetrics computed = BlueprintMetrics.of(persistence.getBlueprint("ana", "small").getPoints());
+    assertEquals(computed.getPointCount(), appended.getPointCount());
+    assertEquals(computed.getPathLength(), appended.getPathLength());
+    assertEquals(computed.getArea(), appended.getArea());
+  }
+
+  @Test
+  public void updatesReuseTheSpaceOfTheValuesTheyReplace() throws Exception {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      points.add(new Point(i, i % 7));
+    }
+    persistence.saveBlueprint(new Blueprint("ana", "big", points));
+    long pages = persistence.getPageCount();
+    for (int i = 0; i < 50; i++) {
+      points.set(0, new Point(-i, -i));
+      persistence.updateBlueprint(new Blueprint("ana", "big", points));
+    }
+    assertTrue(persistence.getPageCount() <= 2 * pages + 2, "pages " + persistence.getPageCount());
+    assertEquals(new Point(-49, -49), persistence.getBlueprint("ana", "big").getPoints().get(0));
+  }
+
+  private static List<Point> square(int side) {
+    return List.of(new Point(0, 0), new Point(side, 0), new Point(side, side), new Point(0, side), new Point(0, 0));
+  }
+}
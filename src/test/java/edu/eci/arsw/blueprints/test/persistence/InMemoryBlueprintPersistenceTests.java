@@ -0,0 +1,47 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.impl.InMemoryBlueprintPersistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link InMemoryBlueprintPersistence}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-09-12
+ */
+public class InMemoryBlueprintPersistenceTests {
+
+  @Test
+  public void historyDroppedByTheBudgetStartsAgainFromTheStoredBlueprint() throws Exception {
+    InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+    persistence.setHistoryBytes(1);
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      points.add(new Point(i, i));
+    }
+    persistence.updateBlueprint(new Blueprint("john", "office_design", points));
+    points.set(0, new Point(-1, -1));
+    persistence.updateBlueprint(new Blueprint("john", "office_design", points));
+
+    // The updates overflow the budget, which drops every other history
+    List<BlueprintRevision> revisions = persistence.getBlueprintHistory("john", "house_design");
+    assertEquals(1, revisions.size());
+    assertEquals(persistence.getBlueprintVersion("john", "house_design"), revisions.get(0).getVersion());
+    assertEquals(persistence.getBlueprint("john", "house_design").getPoints(),
+        persistence.getBlueprint("john", "house_design", 1).getPoints());
+    assertEquals(0, persistence.getBlueprintDelta("john", "house_design", 1, 1).getChanges().size());
+
+    List<BlueprintRevision> updated = persistence.getBlueprintHistory("john", "office_design");
+    assertEquals(3, updated.get(updated.size() - 1).getVersion());
+    assertEquals(points, persistence.getBlueprint("john", "office_design", 3).getPoints());
+  }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.impl.ChunkedPointList;
+import edu.eci.arsw.blueprints.persistence.impl.OffHeapPointStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the explicit recycling of {@link OffHeapPointStore} blocks.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-20
+ */
+public class OffHeapPointStoreTests {
+
+  @Test
+  public void releasingTheLastOwnerRecyclesBlocksWithoutWaitingForGc() {
+    OffHeapPointStore store = new OffHeapPointStore(1024 * 1024, null);
+    ChunkedPointList first = ChunkedPointList.of(points(2000, 0), null, store::store);
+    store.retain(first);
+    long used = store.getUsedBytes();
+    for (int round = 1; round <= 100; round++) {
+      ChunkedPointList next = ChunkedPointList.of(points(2000, round), null, store::store);
+      store.retain(next);
+      store.release(first);
+      first = next;
+      assertEquals(used, store.getUsedBytes());
+    }
+    assertEquals(1024 * 1024, store.getReservedBytes());
+  }
+
+  @Test
+  public void blocksOwnedTwiceSurviveTheFirstRelease() {
+    OffHeapPointStore store = new OffHeapPointStore(1024 * 1024, null);
+    ChunkedPointList points = ChunkedPointList.of(points(1000, 0), null, store::store);
+    store.retain(points);
+    store.retain(points);
+    long used = store.getUsedBytes();
+    store.release(points);
+    assertEquals(used, store.getUsedBytes());
+    store.release(points);
+    assertEquals(0, store.getUsedBytes());
+  }
+
+  @Test
+  public void releasedListsStayReadableAfterTheirBlocksAreReused() {
+    OffHeapPointStore store = new OffHeapPointStore(1024 * 1024, null);
+    ChunkedPointList held = ChunkedPointList.of(points(1000, 0), null, store::store);
+    store.retain(held);
+    store.release(held);
+    ChunkedPointList reused = ChunkedPointList.of(points(1000, 7), null, store::store);
+    store.retain(reused);
+    assertEquals(points(1000, 0), held);
+    assertEquals(points(1000, 7), reused);
+  }
+
+  private static List<Point> points(int count, int shift) {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      points.add(new Point(i + shift, -i));
+    }
+    return points;
+  }
+}
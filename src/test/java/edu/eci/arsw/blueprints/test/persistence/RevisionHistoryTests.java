@@ -0,0 +1,90 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintRevision;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointChange;
+import edu.eci.arsw.blueprints.persistence.impl.RevisionHistory;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the limits and deltas of {@link RevisionHistory}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-30
+ */
+public class RevisionHistoryTests {
+
+  @Test
+  public void deltaHoldsExactlyTheChangedAndAppendedPoints() {
+    RevisionHistory history = new RevisionHistory(RevisionHistory.DEFAULT_LIMIT);
+    List<Point> points = points(2000, 0);
+    assertEquals(1, history.record("ana", "plan", points));
+    List<Point> changed = new ArrayList<>(points);
+    changed.set(1500, new Point(-1, -1));
+    changed.add(new Point(7, 8));
+    changed.add(new Point(9, 10));
+    assertEquals(2, history.record("ana", "plan", changed));
+
+    BlueprintDelta delta = history.delta("ana", "plan", 1, 2);
+    assertEquals(2002, delta.getPointCount());
+    List<PointChange> changes = delta.getChanges();
+    assertEquals(3, changes.size());
+    assertEquals(1500, changes.get(0).getIndex());
+    assertEquals(-1, changes.get(0).getX());
+    assertEquals(2000, changes.get(1).getIndex());
+    assertEquals(2001, changes.get(2).getIndex());
+    assertEquals(10, changes.get(2).getY());
+    assertEquals(points, history.getPoints("ana", "plan", 1));
+    assertEquals(changed, history.getPoints("ana", "plan", 2));
+  }
+
+  @Test
+  public void limitKeepsOnlyTheMostRecentRevisions() {
+    RevisionHistory history = new RevisionHistory(3);
+    for (int version = 0; version < 5; version++) {
+      history.record("ana", "plan", points(10, version));
+    }
+    List<BlueprintRevision> revisions = history.getRevisions("ana", "plan");
+    assertEquals(3, revisions.size());
+    assertEquals(3, revisions.get(0).getVersion());
+    assertEquals(5, revisions.get(2).getVersion());
+    assertNull(history.getPoints("ana", "plan", 2));
+    assertNull(history.delta("ana", "plan", 1, 5));
+  }
+
+  @Test
+  public void budgetDropsLeastRecentlyUsedHistoriesButKeepsVersions() {
+    RevisionHistory history = new RevisionHistory(RevisionHistory.DEFAULT_LIMIT);
+    // 1000 points weigh 8000 bytes, so two histories exceed the budget
+    history.setMaxBytes(12_000);
+    history.record("ana", "old", points(1000, 0));
+    history.record("ana", "old", points(1000, 1));
+    history.record("ana", "new", points(1000, 2));
+    assertFalse(history.contains("ana", "old"));
+    assertTrue(history.contains("ana", "new"));
+    assertTrue(history.getRetainedBytes() <= 12_000, "retained " + history.getRetainedBytes());
+    assertEquals(2, history.getVersion("ana", "old"));
+
+    history.start("ana", "old", points(1000, 1));
+    assertEquals(2, history.getRevisions("ana", "old").get(0).getVersion());
+    assertEquals(3, history.record("ana", "old", points(1000, 3)));
+  }
+
+  private static List<Point> points(int count, int shift) {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      points.add(new Point(i + shift, 2 * i));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,102 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
+import edu.eci.arsw.blueprints.persistence.impl.ShapeIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the recall of the locality-sensitive {@link ShapeIndex}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-01
+ */
+public class ShapeIndexTests {
+
+  private static final int FAMILIES = 200;
+  private static final int VARIANTS = 10;
+
+  @Test
+  public void similarFindsMostVariantsOfTheSameShape() {
+    Random random = new Random(11);
+    ShapeIndex index = new ShapeIndex();
+    for (int family = 0; family < FAMILIES; family++) {
+      List<Point> shape = shape(random);
+      for (int variant = 0; variant < VARIANTS; variant++) {
+        index.put("family" + family, "variant" + variant, variant(random, shape));
+      }
+    }
+    assertEquals(FAMILIES * VARIANTS, index.size());
+
+    int found = 0;
+    for (int family = 0; family < FAMILIES; family++) {
+      List<SimilarBlueprint> similar = index.similar("family" + family, "variant0", VARIANTS - 1);
+      double previous = 0;
+      for (SimilarBlueprint blueprint : similar) {
+        assertTrue(blueprint.getDistance() >= previous);
+        assertTrue(!blueprint.getName().equals("variant0") || !blueprint.getAuthor().equals("family" + family));
+        previous = blueprint.getDistance();
+        if (blueprint.getAuthor().equals("family" + family)) {
+          found++;
+        }
+      }
+    }
+    double recall = (double) found / (FAMILIES * (VARIANTS - 1));
+    assertTrue(recall >= 0.9, "recall " + recall);
+  }
+
+  @Test
+  public void staleShapesAreDescribedAgainByTheNextQuery() {
+    Random random = new Random(13);
+    ShapeIndex index = new ShapeIndex();
+    List<Point> first = shape(random);
+    List<Point> second = shape(random);
+    index.put("ana", "first", first);
+    index.put("ana", "second", second);
+    index.put("ana", "moving", variant(random, first));
+    assertEquals("moving", index.similar("ana", "first", 1).get(0).getName());
+
+    List<Point> moved = variant(random, second);
+    index.markStale("ana", "moving", () -> moved);
+    assertEquals("moving", index.similar("ana", "second", 1).get(0).getName());
+    assertEquals("second", index.similar("ana", "moving", 1).get(0).getName());
+  }
+
+  /**
+   * Random closed polygon of 6 to 12 vertices around the origin.
+   */
+  private static List<Point> shape(Random random) {
+    int vertices = 6 + random.nextInt(7);
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < vertices; i++) {
+      double angle = 2 * Math.PI * i / vertices;
+      double radius = 200 + random.nextInt(800);
+      points.add(new Point((int) (radius * Math.cos(angle)), (int) (radius * Math.sin(angle))));
+    }
+    points.add(points.get(0));
+    return points;
+  }
+
+  /**
+   * The same shape moved, scaled and slightly jittered.
+   */
+  private static List<Point> variant(Random random, List<Point> shape) {
+    double scale = 0.5 + random.nextDouble() * 2;
+    int dx = random.nextInt(10000) - 5000;
+    int dy = random.nextInt(10000) - 5000;
+    List<Point> points = new ArrayList<>();
+    for (Point point : shape) {
+      points.add(new Point((int) (point.getX() * scale) + dx + random.nextInt(81) - 40,
+          (int) (point.getY() * scale) + dy + random.nextInt(81) - 40));
+    }
+    return points;
+  }
+}
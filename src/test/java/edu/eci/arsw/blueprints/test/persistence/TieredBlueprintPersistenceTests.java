@@ -0,0 +1,74 @@
+package edu.eci.arsw.blueprints.test.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintMetrics;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.SimilarBlueprint;
+import edu.eci.arsw.blueprints.persistence.impl.TieredBlueprintPersistence;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link TieredBlueprintPersistence}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-21
+ */
+public class TieredBlueprintPersistenceTests {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void reopenRestoresMetricsAndShapesFromHeaders() throws Exception {
+    TieredBlueprintPersistence persistence = new TieredBlueprintPersistence(directory.toString(), 1 << 20);
+    persistence.saveBlueprint(new Blueprint("ana", "small", square(2)));
+    persistence.saveBlueprint(new Blueprint("ana", "large", square(50)));
+    persistence.saveBlueprint(new Blueprint("ana", "dot", List.of(new Point(3, 3))));
+    persistence.appendPoints("ana", "small", List.of(new Point(1, 1)));
+    BlueprintMetrics metrics = persistence.getBlueprintMetrics("ana", "small");
+    List<SimilarBlueprint> similar = persistence.findSimilarBlueprints("ana", "large", 5);
+
+    persistence = new TieredBlueprintPersistence(directory.toString(), 1 << 20);
+
+    BlueprintMetrics restored = persistence.getBlueprintMetrics("ana", "small");
+    assertEquals(metrics.getPointCount(), restored.getPointCount());
+    assertEquals(metrics.getPathLength(), restored.getPathLength());
+    assertEquals(metrics.getArea(), restored.getArea());
+    List<SimilarBlueprint> restoredSimilar = persistence.findSimilarBlueprints("ana", "large", 5);
+    assertEquals(similar.size(), restoredSimilar.size());
+    assertEquals(similar.get(0).getName(), restoredSimilar.get(0).getName());
+    assertEquals(similar.get(0).getDistance(), restoredSimilar.get(0).getDistance());
+    assertEquals(square(50), persistence.getBlueprint("ana", "large").getPoints());
+  }
+
+  @Test
+  public void openDeletesTemporaryFilesAndReadsLegacyFiles() throws Exception {
+    Path temporary = directory.resolve("ana&torn.bp.tmp");
+    Files.write(temporary, new byte[] { 1, 2, 3 });
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(directory.resolve("ana&old.bp")))) {
+      out.writeInt(2);
+      out.writeInt(4);
+      out.writeInt(5);
+      out.writeInt(6);
+      out.writeInt(7);
+    }
+    TieredBlueprintPersistence persistence = new TieredBlueprintPersistence(directory.toString(), 1 << 20);
+    assertFalse(Files.exists(temporary));
+    assertEquals(2, persistence.getBlueprintMetrics("ana", "old").getPointCount());
+    assertEquals(List.of(new Point(4, 5), new Point(6, 7)), persistence.getBlueprint("ana", "old").getPoints());
+  }
+
+  private static List<Point> square(int side) {
+    return List.of(new Point(0, 0), new Point(side, 0), new Point(side, side), new Point(0, side), new Point(0, 0));
+  }
+}
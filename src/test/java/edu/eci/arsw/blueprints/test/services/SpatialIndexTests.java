@@ -0,0 +1,143 @@
+package edu.eci.arsw.blueprints.test.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import edu.eci.arsw.blueprints.model.BlueprintSegment;
+import edu.eci.arsw.blueprints.model.NearestPoint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.services.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the queries of {@link SpatialIndex}, checked against a brute
+ * force scan of every vertex and segment.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-10-31
+ */
+public class SpatialIndexTests {
+
+  @Test
+  public void nearestMatchesTheClosestVertexOfAScan() {
+    Random random = new Random(3);
+    List<Point> points = walk(random, 5000);
+    SpatialIndex index = new SpatialIndex(points, 1);
+    for (int q = 0; q < 500; q++) {
+      int x = random.nextInt(3000) - 1500;
+      int y = random.nextInt(3000) - 1500;
+      NearestPoint nearest = index.nearest(x, y);
+      double closest = Double.MAX_VALUE;
+      for (Point point : points) {
+        closest = Math.min(closest, Math.hypot((double) point.getX() - x, (double) point.getY() - y));
+      }
+      assertEquals(closest, nearest.getDistance());
+      Point vertex = points.get(nearest.getIndex());
+      assertEquals(vertex.getX(), nearest.getX());
+      assertEquals(vertex.getY(), nearest.getY());
+    }
+  }
+
+  @Test
+  public void segmentsMatchTheSegmentsCrossingTheRectangleInAScan() {
+    Random random = new Random(5);
+    List<Point> points = walk(random, 5000);
+    SpatialIndex index = new SpatialIndex(points, 1);
+    for (int q = 0; q < 300; q++) {
+      int minX = random.nextInt(3000) - 1500;
+      int minY = random.nextInt(3000) - 1500;
+      int maxX = minX + random.nextInt(q % 10 == 0 ? 2000 : 100);
+      int maxY = minY + random.nextInt(q % 10 == 0 ? 2000 : 100);
+      Set<Integer> expected = new TreeSet<>();
+      for (int i = 0; i + 1 < points.size(); i++) {
+        if (crosses(points.get(i), points.get(i + 1), minX, minY, maxX, maxY)) {
+          expected.add(i);
+        }
+      }
+      Set<Integer> found = new TreeSet<>();
+      for (BlueprintSegment segment : index.segments(minX, minY, maxX, maxY, Integer.MAX_VALUE)) {
+        found.add(segment.getIndex());
+        assertEquals(points.get(segment.getIndex() + 1).getX(), segment.getX2());
+      }
+      assertEquals(expected, found);
+    }
+    assertEquals(10, index.segments(-1000, -1000, 1000, 1000, 10).size());
+  }
+
+  @Test
+  public void tinyBlueprintsHaveDegenerateOrNoSegments() {
+    assertNull(new SpatialIndex(List.of(), 1).nearest(0, 0));
+    assertEquals(0, new SpatialIndex(List.of(), 1).segments(-10, -10, 10, 10, 10).size());
+    SpatialIndex dot = new SpatialIndex(List.of(new Point(4, 4)), 1);
+    assertEquals(5.0, dot.nearest(1, 0).getDistance());
+    assertEquals(1, dot.segments(0, 0, 4, 4, 10).size());
+    assertEquals(0, dot.segments(5, 5, 9, 9, 10).size());
+  }
+
+  /**
+   * Random walk with short steps and occasional long jumps, so segments
+   * both cluster and span the drawing.
+   */
+  private static List<Point> walk(Random random, int count) {
+    List<Point> points = new ArrayList<>();
+    int x = 0;
+    int y = 0;
+    for (int i = 0; i < count; i++) {
+      int step = random.nextInt(20) == 0 ? 800 : 20;
+      x = Math.max(-1000, Math.min(1000, x + random.nextInt(2 * step + 1) - step));
+      y = Math.max(-1000, Math.min(1000, y + random.nextInt(2 * step + 1) - step));
+      points.add(new Point(x, y));
+    }
+    return points;
+  }
+
+  /**
+   * Tells whether a segment has an end inside the rectangle or meets one of
+   * its edges.
+   */
+  private static boolean crosses(Point a, Point b, int minX, int minY, int maxX, int maxY) {
+    if (inside(a, minX, minY, maxX, maxY) || inside(b, minX, minY, maxX, maxY)) {
+      return true;
+    }
+    Point[] corners = { new Point(minX, minY), new Point(maxX, minY), new Point(maxX, maxY), new Point(minX, maxY) };
+    for (int i = 0; i < 4; i++) {
+      if (intersects(a, b, corners[i], corners[(i + 1) % 4])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean inside(Point point, int minX, int minY, int maxX, int maxY) {
+    return point.getX() >= minX && point.getX() <= maxX && point.getY() >= minY && point.getY() <= maxY;
+  }
+
+  private static boolean intersects(Point a, Point b, Point c, Point d) {
+    long d1 = orientation(c, d, a);
+    long d2 = orientation(c, d, b);
+    long d3 = orientation(a, b, c);
+    long d4 = orientation(a, b, d);
+    if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
+      return true;
+    }
+    return (d1 == 0 && onSegment(c, d, a)) || (d2 == 0 && onSegment(c, d, b))
+        || (d3 == 0 && onSegment(a, b, c)) || (d4 == 0 && onSegment(a, b, d));
+  }
+
+  private static long orientation(Point from, Point to, Point point) {
+    return ((long) to.getX() - from.getX()) * ((long) point.getY() - from.getY())
+        - ((long) to.getY() - from.getY()) * ((long) point.getX() - from.getX());
+  }
+
+  private static boolean onSegment(Point from, Point to, Point point) {
+    return Math.min(from.getX(), to.getX()) <= point.getX() && point.getX() <= Math.max(from.getX(), to.getX())
+        && Math.min(from.getY(), to.getY()) <= point.getY() && point.getY() <= Math.max(from.getY(), to.getY());
+  }
+}
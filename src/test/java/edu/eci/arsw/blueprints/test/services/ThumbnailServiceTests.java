@@ -0,0 +1,101 @@
+package edu.eci.arsw.blueprints.test.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.eci.arsw.blueprints.exceptions.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.impl.InMemoryBlueprintPersistence;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.ThumbnailService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the render coalescing and cache of {@link ThumbnailService}.
+ *
+ * @author Jesús Pinzón & David Velásquez
+ * @version 1.0
+ * @since 2025-11-02
+ */
+public class ThumbnailServiceTests {
+
+  private final CountDownLatch gate = new CountDownLatch(1);
+  private final AtomicInteger reads = new AtomicInteger();
+  private ThumbnailService service;
+
+  @AfterEach
+  public void shutdown() {
+    gate.countDown();
+    if (service != null) {
+      service.shutdown();
+    }
+  }
+
+  @Test
+  public void concurrentRequestsShareOneRenderAndOneRead() throws Exception {
+    service = service(1 << 20);
+    CompletableFuture<byte[]> first = service.getThumbnail("john", "house_design", 64);
+    CompletableFuture<byte[]> second = service.getThumbnail("john", "house_design", 64);
+    assertTrue(first == second, "the second request did not join the pending render");
+    assertEquals(0, reads.get());
+
+    gate.countDown();
+    byte[] png = first.get();
+    assertEquals(1, reads.get());
+    assertArrayEquals(png, service.getThumbnail("john", "house_design", 64).get());
+    assertEquals(1, reads.get());
+  }
+
+  @Test
+  public void cacheEvictsLeastRecentlyUsedImagesOverTheBudget() throws Exception {
+    gate.countDown();
+    service = service(1 << 20);
+    long house = render("john", "house_design");
+    long office = render("john", "office_design") - house;
+    long park = render("maria", "park_design") - house - office;
+    service.shutdown();
+
+    service = service(house + office + park - 1);
+    render("john", "house_design");
+    render("john", "office_design");
+    render("maria", "park_design");
+    assertEquals(office + park, service.getCacheBytes());
+
+    int before = reads.get();
+    render("john", "office_design");
+    assertEquals(before, reads.get());
+    render("john", "house_design");
+    assertEquals(before + 1, reads.get());
+    assertEquals(house + office, service.getCacheBytes());
+  }
+
+  private long render(String author, String name) throws Exception {
+    service.getThumbnail(author, name, 64).get();
+    return service.getCacheBytes();
+  }
+
+  private ThumbnailService service(long cacheBudget) {
+    BlueprintsServices blueprints = new BlueprintsServices();
+    blueprints.setBlueprintsPersistence(new InMemoryBlueprintPersistence() {
+      @Override
+      public Blueprint getBlueprint(String author, String blueprintName) throws BlueprintNotFoundException {
+        try {
+          gate.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        reads.incrementAndGet();
+        return super.getBlueprint(author, blueprintName);
+      }
+    });
+    ThumbnailService thumbnails = new ThumbnailService(1, 4, cacheBudget);
+    thumbnails.setBlueprintsServices(blueprints);
+    return thumbnails;
+  }
+}